@@ -0,0 +1,69 @@
+package com.socialplatformapi.benchmark;
+
+import com.socialplatformapi.security.AuthenticatedUser;
+import com.socialplatformapi.service.AuthorizationService;
+import com.socialplatformapi.service.SessionService;
+import com.socialplatformapi.service.UserIdentityCache;
+import com.socialplatformapi.service.session.InMemorySessionStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request caller resolution: token to session to cached identity.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+public class AuthorizationBenchmark {
+
+    private static final int USERS = 10_000;
+
+    private AuthorizationService authorizationService;
+    private String[] tokens;
+    private String unknownToken;
+
+    @Setup
+    public void setUp() {
+        SessionService sessionService = new SessionService(
+                new InMemorySessionStore(Duration.ofMinutes(30), Duration.ofHours(12), 100_000),
+                Fixtures.userRepository());
+        UserIdentityCache userIdentityCache =
+                new UserIdentityCache(Fixtures.userRepository(), 100_000, Duration.ofMinutes(30));
+        authorizationService = new AuthorizationService(sessionService, userIdentityCache);
+        tokens = new String[USERS];
+        for (int i = 0; i < USERS; i++) {
+            tokens[i] = sessionService.createSession(Fixtures.user(i + 1));
+            authorizationService.authenticate(tokens[i]);
+        }
+        unknownToken = UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public Optional<AuthenticatedUser> authenticate() {
+        return authorizationService.authenticate(tokens[ThreadLocalRandom.current().nextInt(USERS)]);
+    }
+
+    @Benchmark
+    public Optional<AuthenticatedUser> authenticateUnknownToken() {
+        return authorizationService.authenticate(unknownToken);
+    }
+}
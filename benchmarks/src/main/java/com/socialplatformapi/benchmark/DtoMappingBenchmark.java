@@ -0,0 +1,94 @@
+package com.socialplatformapi.benchmark;
+
+import com.socialplatformapi.dto.comment.CommentResponse;
+import com.socialplatformapi.dto.comment.CommentSummary;
+import com.socialplatformapi.dto.comment.CommentView;
+import com.socialplatformapi.dto.post.PostResponse;
+import com.socialplatformapi.dto.post.PostView;
+import com.socialplatformapi.model.Comment;
+import com.socialplatformapi.model.Post;
+import com.socialplatformapi.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DTO mapping for a page of posts and a page of comments, from entities and from the
+ * interface projections the read paths use; {@code exec:exec} runs with {@code -prof gc},
+ * so the results also show allocation per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private List<Post> posts;
+    private List<Comment> comments;
+    private List<PostView> postViews;
+    private List<CommentView> commentViews;
+    private List<CommentSummary> commentSummaries;
+    private List<String> likedBy;
+
+    @Setup
+    public void setUp() {
+        User author = Fixtures.user(1);
+        posts = new ArrayList<>(PAGE_SIZE);
+        comments = new ArrayList<>(PAGE_SIZE);
+        postViews = new ArrayList<>(PAGE_SIZE);
+        commentViews = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Post post = Fixtures.post(i + 1, author);
+            posts.add(post);
+            comments.add(Fixtures.comment(i + 1, post, Fixtures.user(i + 2)));
+            postViews.add(Fixtures.postView(i + 1, author.getUsername()));
+            commentViews.add(Fixtures.commentView(i + 1, i + 1, "user" + (i + 2)));
+        }
+        commentSummaries = Fixtures.commentSummaries(1, 3);
+        likedBy = Fixtures.likedBy(10);
+    }
+
+    @Benchmark
+    public void postToDto(Blackhole blackhole) {
+        for (Post post : posts) {
+            blackhole.consume(PostResponse.postToDto(post, "user1", commentSummaries, likedBy, 10, 3));
+        }
+    }
+
+    @Benchmark
+    public void commentToDto(Blackhole blackhole) {
+        for (Comment comment : comments) {
+            blackhole.consume(CommentResponse.commentToDto(comment));
+        }
+    }
+
+    @Benchmark
+    public void postViewToDto(Blackhole blackhole) {
+        for (PostView post : postViews) {
+            blackhole.consume(PostResponse.postViewToDto(post, commentSummaries, likedBy, 10, 3));
+        }
+    }
+
+    @Benchmark
+    public void commentViewToDto(Blackhole blackhole) {
+        for (CommentView comment : commentViews) {
+            blackhole.consume(CommentResponse.commentViewToDto(comment));
+        }
+    }
+}
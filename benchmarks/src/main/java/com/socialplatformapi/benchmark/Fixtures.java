@@ -0,0 +1,152 @@
+package com.socialplatformapi.benchmark;
+
+import com.socialplatformapi.dto.comment.CommentSummary;
+import com.socialplatformapi.dto.comment.CommentView;
+import com.socialplatformapi.dto.post.PostResponse;
+import com.socialplatformapi.dto.post.PostView;
+import com.socialplatformapi.model.Comment;
+import com.socialplatformapi.model.Post;
+import com.socialplatformapi.model.User;
+import com.socialplatformapi.repository.UserRepository;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Entities, DTOs and a repository stand-in shaped like production data, so the
+ * benchmarks need neither a database nor a Spring context.
+ */
+final class Fixtures {
+
+    static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    // იგივე proxy-ები, რასაც Spring Data interface projection-ის query-დან აბრუნებს
+    private static final ProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
+
+    private Fixtures() {
+    }
+
+    static User user(long id) {
+        return new User()
+                .setId(id)
+                .setFirstName("First" + id)
+                .setLastName("Last" + id)
+                .setUsername("user" + id)
+                .setBirthDate(LocalDate.of(1990, 1, 1))
+                .setEmail("user" + id + "@example.com")
+                .setPassword("$2a$10$abcdefghijklmnopqrstuuabcdefghijklmnopqrstuvwxyz01234");
+    }
+
+    static Post post(long id, User poster) {
+        Post post = new Post();
+        post.setId(id);
+        post.setText("Post number " + id + " with a sentence or two of text, about as long as a typical post.");
+        post.setPostDate(NOW.minusMinutes(id));
+        post.setPoster(poster);
+        return post;
+    }
+
+    static Comment comment(long id, Post post, User commenter) {
+        Comment comment = new Comment();
+        comment.setId(id);
+        comment.setCommentText("Comment " + id + " on post " + post.getId());
+        comment.setCommentDate(NOW.minusSeconds(id));
+        comment.setPost(post);
+        comment.setCommenter(commenter);
+        return comment;
+    }
+
+    static PostView postView(long id, String posterUsername) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", id);
+        row.put("text", "Post number " + id + " with a sentence or two of text, about as long as a typical post.");
+        row.put("postDate", NOW.minusMinutes(id));
+        row.put("posterUsername", posterUsername);
+        row.put("likeCount", 10L);
+        row.put("commentCount", 3L);
+        return PROJECTIONS.createProjection(PostView.class, row);
+    }
+
+    static CommentView commentView(long id, long postId, String commenterUsername) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", id);
+        row.put("commentText", "Comment " + id + " on post " + postId);
+        row.put("commenterUsername", commenterUsername);
+        row.put("postId", postId);
+        row.put("commentDate", NOW.minusSeconds(id));
+        return PROJECTIONS.createProjection(CommentView.class, row);
+    }
+
+    static List<CommentSummary> commentSummaries(long postId, int count) {
+        List<CommentSummary> comments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            comments.add(new Summary(postId * 100 + i, "user" + i, "Comment " + i + " on post " + postId));
+        }
+        return comments;
+    }
+
+    static List<String> likedBy(int count) {
+        List<String> likedBy = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            likedBy.add("user" + i);
+        }
+        return likedBy;
+    }
+
+    static List<PostResponse> feedPage(int size, int comments, int likes) {
+        List<PostResponse> page = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Post post = post(i + 1, user(i % 50));
+            page.add(PostResponse.postToDto(post, "user" + (i % 50),
+                    commentSummaries(post.getId(), comments), likedBy(likes), likes * 10L, comments * 4L));
+        }
+        return page;
+    }
+
+    // მხოლოდ findUsernameById სჭირდება UserIdentityCache-ს
+    static UserRepository userRepository() {
+        return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findUsernameById")) {
+                        return Optional.of("user" + args[0]);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static final class Summary implements CommentSummary {
+        private final Long id;
+        private final String commenterUsername;
+        private final String commentText;
+
+        Summary(Long id, String commenterUsername, String commentText) {
+            this.id = id;
+            this.commenterUsername = commenterUsername;
+            this.commentText = commentText;
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getCommenter_Username() {
+            return commenterUsername;
+        }
+
+        @Override
+        public String getCommentText() {
+            return commentText;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.socialplatformapi.benchmark;
+
+import com.socialplatformapi.dto.comment.CommentResponse;
+import com.socialplatformapi.dto.comment.CommentSummary;
+import com.socialplatformapi.dto.comment.CommentView;
+import com.socialplatformapi.dto.post.PostResponse;
+import com.socialplatformapi.dto.post.PostView;
+import com.socialplatformapi.model.Comment;
+import com.socialplatformapi.model.Follow;
+import com.socialplatformapi.model.Like;
+import com.socialplatformapi.model.Post;
+import com.socialplatformapi.model.User;
+import com.socialplatformapi.repository.CommentRepository;
+import com.socialplatformapi.repository.PostRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A page of posts and a page of comments loaded through Hibernate from an in-memory
+ * H2 database: entities via findAll plus entity mapping, against the interface
+ * projection queries the read paths use. Both sides include hydration and the
+ * persistence context, which is cleared after every page as at the end of a request.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersistenceMappingBenchmark {
+
+    private static final int USERS = 50;
+    private static final int POSTS = 1000;
+    private static final int PAGE_SIZE = 20;
+    private static final Pageable PAGE = PageRequest.of(3, PAGE_SIZE, Sort.Direction.ASC, "id");
+
+    private SessionFactory sessionFactory;
+    private EntityManager entityManager;
+    private PostRepository postRepository;
+    private CommentRepository commentRepository;
+    private List<Long> commentPageIds;
+    private List<CommentSummary> commentSummaries;
+    private List<String> likedBy;
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(User.class)
+                .addAnnotatedClass(Post.class)
+                .addAnnotatedClass(Comment.class)
+                .addAnnotatedClass(Like.class)
+                .addAnnotatedClass(Follow.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL,
+                        "jdbc:h2:mem:bench-" + Thread.currentThread().getId() + ";DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "50")
+                .buildSessionFactory();
+        seed();
+
+        entityManager = sessionFactory.createEntityManager();
+        JpaRepositoryFactory factory = new JpaRepositoryFactory(entityManager);
+        postRepository = factory.getRepository(PostRepository.class);
+        commentRepository = factory.getRepository(CommentRepository.class);
+        commentPageIds = commentRepository.findAll(PAGE).map(Comment::getId).toList();
+        entityManager.clear();
+
+        commentSummaries = Fixtures.commentSummaries(1, 3);
+        likedBy = Fixtures.likedBy(10);
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManager.close();
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public void postEntitiesToDto(Blackhole blackhole) {
+        try {
+            for (Post post : postRepository.findAll(PAGE)) {
+                blackhole.consume(PostResponse.postToDto(post, post.getPoster().getUsername(),
+                        commentSummaries, likedBy, post.getLikeCount(), post.getCommentCount()));
+            }
+        } finally {
+            entityManager.clear();
+        }
+    }
+
+    @Benchmark
+    public void postViewsToDto(Blackhole blackhole) {
+        try {
+            for (PostView post : postRepository.findViews(PAGE)) {
+                blackhole.consume(PostResponse.postViewToDto(post, commentSummaries, likedBy,
+                        post.getLikeCount(), post.getCommentCount()));
+            }
+        } finally {
+            entityManager.clear();
+        }
+    }
+
+    @Benchmark
+    public void commentEntitiesToDto(Blackhole blackhole) {
+        try {
+            for (Comment comment : commentRepository.findAll(PAGE)) {
+                blackhole.consume(CommentResponse.commentToDto(comment));
+            }
+        } finally {
+            entityManager.clear();
+        }
+    }
+
+    @Benchmark
+    public void commentViewsToDto(Blackhole blackhole) {
+        try {
+            for (CommentView comment : commentRepository.findViewsByIdIn(commentPageIds)) {
+                blackhole.consume(CommentResponse.commentViewToDto(comment));
+            }
+        } finally {
+            entityManager.clear();
+        }
+    }
+
+    private void seed() {
+        EntityManager em = sessionFactory.createEntityManager();
+        em.getTransaction().begin();
+        User[] users = new User[USERS];
+        for (int i = 0; i < USERS; i++) {
+            users[i] = Fixtures.user(0).setId(null).setUsername("user" + i).setEmail("user" + i + "@example.com");
+            em.persist(users[i]);
+        }
+        for (int i = 0; i < POSTS; i++) {
+            Post post = Fixtures.post(0, users[i % USERS]);
+            post.setId(null);
+            em.persist(post);
+            Comment comment = Fixtures.comment(0, post, users[(i + 1) % USERS]);
+            comment.setId(null);
+            em.persist(comment);
+            if (i % 50 == 49) {
+                em.flush();
+                em.clear();
+                for (int u = 0; u < USERS; u++) {
+                    users[u] = em.getReference(User.class, users[u].getId());
+                }
+            }
+        }
+        em.getTransaction().commit();
+        em.close();
+    }
+}
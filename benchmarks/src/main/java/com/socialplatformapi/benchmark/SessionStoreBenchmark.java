@@ -0,0 +1,120 @@
+package com.socialplatformapi.benchmark;
+
+import com.socialplatformapi.model.User;
+import com.socialplatformapi.service.SessionService;
+import com.socialplatformapi.service.session.InMemorySessionStore;
+import com.socialplatformapi.service.session.JwtSessionStore;
+import com.socialplatformapi.service.session.MappedSessionStore;
+import com.socialplatformapi.service.session.SessionRecord;
+import com.socialplatformapi.service.session.SessionStore;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Encoders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SessionService create and lookup under contention, for each session.store
+ * implementation. The jwt lookup is a signature verification.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionStoreBenchmark {
+
+    private static final int USERS = 10_000;
+    private static final int MAX_SESSIONS = 100_000;
+
+    @Param({"memory", "mmap", "jwt"})
+    private String store;
+
+    private SessionStore sessionStore;
+    private SessionService sessionService;
+    private Path file;
+    private User[] users;
+    private String[] tokens;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Duration slidingTtl = Duration.ofMinutes(30);
+        Duration absoluteTtl = Duration.ofHours(12);
+        sessionStore = switch (store) {
+            case "memory" -> new InMemorySessionStore(slidingTtl, absoluteTtl, MAX_SESSIONS);
+            case "mmap" -> {
+                file = Files.createTempFile("sessions", ".dat");
+                yield new MappedSessionStore(file, 1 << 18, slidingTtl, absoluteTtl, MAX_SESSIONS);
+            }
+            case "jwt" -> new JwtSessionStore(
+                    Encoders.BASE64.encode(Jwts.SIG.HS256.key().build().getEncoded()),
+                    Duration.ofMinutes(15), new StandardEnvironment());
+            default -> throw new IllegalArgumentException(store);
+        };
+        sessionService = new SessionService(sessionStore, Fixtures.userRepository());
+        users = new User[USERS];
+        tokens = new String[USERS];
+        for (int i = 0; i < USERS; i++) {
+            users[i] = Fixtures.user(i + 1);
+            tokens[i] = sessionService.createSession(users[i]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (sessionStore instanceof MappedSessionStore mapped) {
+            mapped.close();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Optional<SessionRecord> lookup() {
+        return sessionService.findSession(tokens[ThreadLocalRandom.current().nextInt(USERS)]);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String create() {
+        return sessionService.createSession(users[ThreadLocalRandom.current().nextInt(USERS)]);
+    }
+
+    // ტიპური დატვირთვა: ყოველ შესვლაზე ბევრი მოთხოვნა მოდის
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(7)
+    public Optional<SessionRecord> mixedLookup() {
+        return lookup();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public String mixedCreate() {
+        return create();
+    }
+}
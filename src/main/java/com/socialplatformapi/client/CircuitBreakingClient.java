@@ -0,0 +1,83 @@
+package com.socialplatformapi.client;
+
+import com.socialplatformapi.exception.external.UpstreamUnavailableException;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Consecutive-failure circuit breaker around a Feign client. After failureThreshold
+ * I/O errors or 5xx answers in a row, calls fail immediately for openDuration; then a
+ * single trial call decides whether the circuit closes again.
+ */
+@Slf4j
+public class CircuitBreakingClient implements Client {
+
+    private enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final Client delegate;
+    private final int failureThreshold;
+    private final long openDurationMs;
+    private State state = State.CLOSED;
+    private int failures;
+    private long openedAt;
+
+    public CircuitBreakingClient(Client delegate, int failureThreshold, Duration openDuration) {
+        this.delegate = delegate;
+        this.failureThreshold = failureThreshold;
+        this.openDurationMs = openDuration.toMillis();
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        acquire();
+        Response response;
+        try {
+            response = delegate.execute(request, options);
+        } catch (IOException | RuntimeException e) {
+            onFailure();
+            throw e;
+        }
+        if (response.status() >= 500) {
+            onFailure();
+        } else {
+            onSuccess();
+        }
+        return response;
+    }
+
+    private synchronized void acquire() {
+        if (state == State.CLOSED) {
+            return;
+        }
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openDurationMs) {
+            // ერთი საცდელი მოთხოვნა; დანარჩენები მის შედეგამდე უარყოფილია
+            state = State.HALF_OPEN;
+            return;
+        }
+        throw new UpstreamUnavailableException("reqres.in circuit is open");
+    }
+
+    private synchronized void onSuccess() {
+        if (state != State.CLOSED) {
+            log.info("reqres.in circuit closed");
+        }
+        state = State.CLOSED;
+        failures = 0;
+    }
+
+    private synchronized void onFailure() {
+        failures++;
+        if (state == State.HALF_OPEN || failures >= failureThreshold) {
+            if (state != State.OPEN) {
+                log.warn("reqres.in circuit opened after {} consecutive failures", failures);
+            }
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.socialplatformapi.client;
+
+import com.socialplatformapi.exception.external.UpstreamUnavailableException;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Disk cache for GET responses that carry an ETag. A cached page is revalidated with
+ * If-None-Match, so an unchanged page costs a 304 without a body; when the upstream
+ * is failing or the circuit is open, the last cached copy is served instead.
+ */
+@Slf4j
+public class EtagCachingClient implements Client {
+
+    private static final int MAX_CACHED_BODY_BYTES = 1024 * 1024;
+
+    private final Client delegate;
+    private final Path directory;
+
+    public EtagCachingClient(Client delegate, Path directory) {
+        this.delegate = delegate;
+        this.directory = directory;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        if (request.httpMethod() != Request.HttpMethod.GET) {
+            return delegate.execute(request, options);
+        }
+        Path file = directory.resolve(key(request.url()));
+        CachedPage cached = read(file);
+
+        Request conditional = request;
+        if (cached != null) {
+            Map<String, Collection<String>> headers = new HashMap<>(request.headers());
+            headers.put("If-None-Match", List.of(cached.etag()));
+            conditional = Request.create(request.httpMethod(), request.url(), headers,
+                    request.body(), request.charset(), request.requestTemplate());
+        }
+
+        Response response;
+        try {
+            response = delegate.execute(conditional, options);
+        } catch (IOException | UpstreamUnavailableException e) {
+            if (cached != null) {
+                log.warn("Serving cached {} because reqres.in is unavailable: {}", request.url(), e.getMessage());
+                return cached.toResponse(request);
+            }
+            throw e;
+        }
+
+        if (response.status() == 304 && cached != null) {
+            response.close();
+            return cached.toResponse(request);
+        }
+        if (response.status() >= 500 && cached != null) {
+            response.close();
+            return cached.toResponse(request);
+        }
+        String etag = header(response, "ETag");
+        if (response.status() != 200 || etag == null || response.body() == null) {
+            return response;
+        }
+
+        byte[] body;
+        try (response) {
+            body = Util.toByteArray(response.body().asInputStream());
+        }
+        if (body.length <= MAX_CACHED_BODY_BYTES) {
+            write(file, new CachedPage(etag, body));
+        }
+        return response.toBuilder().body(body).build();
+    }
+
+    private CachedPage read(Path file) {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            byte[] bytes = Files.readAllBytes(file);
+            int newline = indexOf(bytes, (byte) '\n');
+            if (newline < 0) {
+                return null;
+            }
+            String etag = new String(bytes, 0, newline, StandardCharsets.UTF_8);
+            byte[] body = new byte[bytes.length - newline - 1];
+            System.arraycopy(bytes, newline + 1, body, 0, body.length);
+            return new CachedPage(etag, body);
+        } catch (IOException e) {
+            log.warn("Could not read cached page {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    // ჯერ დროებით ფაილში ვწერთ, რომ ნახევრად ჩაწერილი ქეში არასოდეს წავიკითხოთ
+    private void write(Path file, CachedPage page) {
+        try {
+            Files.createDirectories(directory);
+            Path tmp = Files.createTempFile(directory, "page", ".tmp");
+            ByteArrayOutputStream out = new ByteArrayOutputStream(page.body().length + 64);
+            out.write(page.etag().getBytes(StandardCharsets.UTF_8));
+            out.write('\n');
+            out.write(page.body());
+            Files.write(tmp, out.toByteArray());
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not cache page {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static String header(Response response, String name) {
+        for (Map.Entry<String, Collection<String>> entry : response.headers().entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(name) && !entry.getValue().isEmpty()) {
+                return entry.getValue().iterator().next();
+            }
+        }
+        return null;
+    }
+
+    private static String key(String url) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest) + ".page";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int indexOf(byte[] bytes, byte value) {
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private record CachedPage(String etag, byte[] body) {
+        Response toResponse(Request request) {
+            return Response.builder()
+                    .status(200)
+                    .reason("OK")
+                    .headers(Map.of("Content-Type", List.of("application/json"), "ETag", List.of(etag)))
+                    .body(body)
+                    .request(request)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.socialplatformapi.client;
+
+import feign.RetryableException;
+import feign.Retryer;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Bounded retry with "full jitter" exponential backoff: the n-th wait is a random
+ * value up to min(maxBackoff, initialBackoff * 2^n), so clients that failed together
+ * do not retry together. A Retry-After from the server takes precedence.
+ */
+public class JitteredRetryer implements Retryer {
+
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private int attempt = 1;
+
+    public JitteredRetryer(int maxAttempts, Duration initialBackoff, Duration maxBackoff) {
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoff.toMillis();
+        this.maxBackoffMs = maxBackoff.toMillis();
+    }
+
+    @Override
+    public void continueOrPropagate(RetryableException e) {
+        if (attempt++ >= maxAttempts) {
+            throw e;
+        }
+        long wait;
+        if (e.retryAfter() != null) {
+            wait = Math.min(maxBackoffMs, Math.max(0, e.retryAfter() - System.currentTimeMillis()));
+        } else {
+            long ceiling = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 2, 20));
+            wait = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        }
+        try {
+            Thread.sleep(wait);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+
+    // Feign ყოველი გამოძახებისთვის ახალ ასლს იღებს, ამიტომ მცდელობების მთვლელი გამოძახებაზეა
+    @Override
+    public Retryer clone() {
+        return new JitteredRetryer(maxAttempts, Duration.ofMillis(initialBackoffMs), Duration.ofMillis(maxBackoffMs));
+    }
+}
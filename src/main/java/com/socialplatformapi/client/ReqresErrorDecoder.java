@@ -0,0 +1,42 @@
+package com.socialplatformapi.client;
+
+import feign.Response;
+import feign.RetryableException;
+import feign.codec.ErrorDecoder;
+
+import java.util.Collection;
+
+/**
+ * Makes 5xx and 429 answers retryable (honouring Retry-After in seconds); every
+ * other status is decoded as usual and fails the call at once.
+ */
+public class ReqresErrorDecoder implements ErrorDecoder {
+
+    private final ErrorDecoder defaultDecoder = new ErrorDecoder.Default();
+
+    @Override
+    public Exception decode(String methodKey, Response response) {
+        int status = response.status();
+        if (status >= 500 || status == 429) {
+            return new RetryableException(status,
+                    "reqres.in answered " + status + " for " + methodKey,
+                    response.request().httpMethod(),
+                    retryAfter(response),
+                    response.request());
+        }
+        return defaultDecoder.decode(methodKey, response);
+    }
+
+    private static Long retryAfter(Response response) {
+        Collection<String> values = response.headers().get("Retry-After");
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        try {
+            return System.currentTimeMillis() + Long.parseLong(values.iterator().next().trim()) * 1000;
+        } catch (NumberFormatException e) {
+            // HTTP-date ფორმატს არ ვამუშავებთ; ჩვეულებრივი backoff-ი იმუშავებს
+            return null;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.socialplatformapi.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local stand-in for reqres.in, active with the "offline" profile. It serves generated
+ * /api/users pages with ETags and can add latency and random 503s, so the import and
+ * the client's retry, circuit breaker and cache can be exercised without the network.
+ */
+@Slf4j
+@Component
+@Profile("offline")
+public class ReqresStandInServer {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ObjectMapper objectMapper;
+    private final int totalUsers;
+    private final int perPage;
+    private final long latencyMs;
+    private final double failureRate;
+
+    public ReqresStandInServer(ObjectMapper objectMapper,
+                               @Value("${reqres.stand-in.port:18080}") int port,
+                               @Value("${reqres.stand-in.total-users:120}") int totalUsers,
+                               @Value("${reqres.stand-in.per-page:6}") int perPage,
+                               @Value("${reqres.stand-in.latency:0ms}") Duration latency,
+                               @Value("${reqres.stand-in.failure-rate:0.0}") double failureRate) throws IOException {
+        this.objectMapper = objectMapper;
+        this.totalUsers = totalUsers;
+        this.perPage = perPage;
+        this.latencyMs = latency.toMillis();
+        this.failureRate = failureRate;
+        this.executor = Executors.newFixedThreadPool(4);
+        // სერვერი კონსტრუქტორში იწყება, რომ ApplicationReadyEvent-ის იმპორტამდე უკვე უსმენდეს
+        this.server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.createContext("/api/users", this::handleUsers);
+        server.setExecutor(executor);
+        server.start();
+        log.info("reqres.in stand-in listening on http://localhost:{}/api", port);
+    }
+
+    @PreDestroy
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handleUsers(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (latencyMs > 0) {
+                Thread.sleep(latencyMs);
+            }
+            if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+                exchange.getResponseHeaders().add("Retry-After", "1");
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+
+            int page = page(exchange.getRequestURI().getQuery());
+            // მონაცემები არ იცვლება, ამიტომ ETag-ი მხოლოდ გვერდზე და ზომებზეა დამოკიდებული
+            String etag = "\"" + page + "-" + perPage + "-" + totalUsers + "\"";
+            exchange.getResponseHeaders().add("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+
+            byte[] body = objectMapper.writeValueAsBytes(page(page));
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Map<String, Object> page(int page) {
+        List<Map<String, Object>> users = new ArrayList<>();
+        for (int id = (page - 1) * perPage + 1; id <= Math.min(page * perPage, totalUsers); id++) {
+            Map<String, Object> user = new LinkedHashMap<>();
+            user.put("id", id);
+            user.put("email", "user" + id + "@reqres.local");
+            user.put("first_name", "First" + id);
+            user.put("last_name", "Last" + id);
+            users.add(user);
+        }
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("page", page);
+        response.put("per_page", perPage);
+        response.put("total", totalUsers);
+        response.put("total_pages", (totalUsers + perPage - 1) / perPage);
+        response.put("data", users);
+        return response;
+    }
+
+    private static int page(String query) {
+        if (query != null) {
+            for (String parameter : query.split("&")) {
+                if (parameter.startsWith("page=")) {
+                    try {
+                        return Math.max(1, Integer.parseInt(parameter.substring(5)));
+                    } catch (NumberFormatException e) {
+                        return 1;
+                    }
+                }
+            }
+        }
+        return 1;
+    }
+}
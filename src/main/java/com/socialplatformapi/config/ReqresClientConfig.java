@@ -1,17 +1,67 @@
 package com.socialplatformapi.config;
 
+import com.socialplatformapi.client.CircuitBreakingClient;
+import com.socialplatformapi.client.EtagCachingClient;
+import com.socialplatformapi.client.JitteredRetryer;
+import com.socialplatformapi.client.ReqresErrorDecoder;
+import feign.Client;
 import feign.Logger;
+import feign.Request;
 import feign.RequestInterceptor;
 import feign.RequestTemplate;
+import feign.Retryer;
+import feign.codec.ErrorDecoder;
+import feign.hc5.ApacheHttp5Client;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 
+import java.nio.file.Path;
+import java.time.Duration;
+
 public class ReqresClientConfig {
 
     //  გადმოვიტანე API გასაღები სერვისიდან აქ.
     @Value("${reqres.api.key:reqres-free-v1}")
     private String reqresApiKey;
 
+    @Value("${reqres.http.connect-timeout:2s}")
+    private Duration connectTimeout;
+
+    @Value("${reqres.http.read-timeout:5s}")
+    private Duration readTimeout;
+
+    @Value("${reqres.http.max-connections:20}")
+    private int maxConnections;
+
+    @Value("${reqres.http.connection-ttl:5m}")
+    private Duration connectionTtl;
+
+    @Value("${reqres.http.retry.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${reqres.http.retry.initial-backoff:200ms}")
+    private Duration initialBackoff;
+
+    @Value("${reqres.http.retry.max-backoff:2s}")
+    private Duration maxBackoff;
+
+    @Value("${reqres.http.circuit.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${reqres.http.circuit.open-duration:30s}")
+    private Duration openDuration;
+
+    @Value("${reqres.http.cache-dir:./reqres-cache}")
+    private Path cacheDir;
+
     @Bean
     public Logger.Level feignLoggerLevel() {
         return Logger.Level.NONE;
@@ -28,4 +78,46 @@ public class ReqresClientConfig {
             }
         };
     }
-}
\ No newline at end of file
+
+    // keep-alive კავშირების pool: გვერდების პარალელური მოთხოვნა TLS handshake-ს აღარ იმეორებს
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient reqresHttpClient() {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setConnPoolPolicy(PoolReusePolicy.LIFO)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setTimeToLive(TimeValue.of(connectionTtl))
+                        .build())
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .setKeepAliveStrategy((response, context) -> Timeout.ofSeconds(30))
+                .disableAutomaticRetries()
+                .build();
+    }
+
+    // გარედან შიგნით: ETag ქეში -> circuit breaker -> pooled HTTP client
+    @Bean
+    public Client feignClient(CloseableHttpClient reqresHttpClient) {
+        return new EtagCachingClient(
+                new CircuitBreakingClient(new ApacheHttp5Client(reqresHttpClient), failureThreshold, openDuration),
+                cacheDir);
+    }
+
+    @Bean
+    public Request.Options requestOptions() {
+        return new Request.Options(connectTimeout, readTimeout, true);
+    }
+
+    @Bean
+    public Retryer retryer() {
+        return new JitteredRetryer(maxAttempts, initialBackoff, maxBackoff);
+    }
+
+    @Bean
+    public ErrorDecoder errorDecoder() {
+        return new ReqresErrorDecoder();
+    }
+}
@@ -1,5 +1,6 @@
 package com.socialplatformapi.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -12,8 +13,9 @@ import org.springframework.security.web.SecurityFilterChain;
 public class SecurityConfig {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${password-hashing.bcrypt-strength:10}") int strength) {
+        // strength-ის შეცვლისას ძველი ჰეშები შესვლისას თანდათან გადაიჰეშება
+        return new BCryptPasswordEncoder(strength);
     }
 
     @Bean
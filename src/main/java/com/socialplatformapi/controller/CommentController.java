@@ -1,20 +1,26 @@
 package com.socialplatformapi.controller;
 
+import com.socialplatformapi.dto.bulk.BulkResult;
 import com.socialplatformapi.dto.comment.CommentRequest;
 import com.socialplatformapi.dto.comment.CommentResponse;
 import com.socialplatformapi.dto.comment.CommentSummary;
 import com.socialplatformapi.dto.comment.CommentUpdateRequest;
-import com.socialplatformapi.service.AuthorizationService;
+import com.socialplatformapi.dto.page.PageCursor;
+import com.socialplatformapi.security.AuthenticatedUser;
+import com.socialplatformapi.security.CurrentUser;
 import com.socialplatformapi.service.CommentService;
+import com.socialplatformapi.service.ExportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
-import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -23,8 +29,11 @@ import java.util.List;
 @RequiredArgsConstructor
 public class CommentController {
 
+    private static final int PAGE_SIZE = 10;
+    private static final int MAX_SEARCH_RESULTS = 50;
+
     private final CommentService commentService;
-    private final AuthorizationService authorizationService;
+    private final ExportService exportService;
 
     @Operation(
             summary = "Add comment",
@@ -35,13 +44,23 @@ public class CommentController {
     @PostMapping
     public ResponseEntity<CommentResponse> addComment(
             @RequestBody @Valid CommentRequest request,
-            HttpServletRequest httpRequest) {
-
-        var user = authorizationService.getLoggedInUser(httpRequest);
+            @CurrentUser AuthenticatedUser user) {
         var response = commentService.addComment(request, user);
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+            summary = "Add comments in bulk",
+            parameters = {
+                    @Parameter(name = "X-Session-Token", in = ParameterIn.HEADER, required = true, description = "Session token")
+            }
+    )
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkResult> addComments(@RequestBody List<CommentRequest> requests,
+                                                  @CurrentUser AuthenticatedUser user) {
+        return ResponseEntity.ok(commentService.addComments(requests, user));
+    }
+
     @PutMapping("/{id}")
     @Operation(
             summary = "Update comment",
@@ -52,9 +71,8 @@ public class CommentController {
     public ResponseEntity<CommentResponse> updateComment(
             @PathVariable(name = "id") Long commentId,
             @RequestBody @Valid CommentUpdateRequest request,
-            HttpServletRequest httpRequest
+            @CurrentUser AuthenticatedUser user
     ) {
-        var user = authorizationService.getLoggedInUser(httpRequest);
         var response = commentService.updateComment(commentId, request, user);
         return ResponseEntity.ok(response);
     }
@@ -68,23 +86,45 @@ public class CommentController {
     )
     public ResponseEntity<String> deleteComment(
             @PathVariable(name = "id") Long commentId,
-            HttpServletRequest httpRequest
+            @CurrentUser AuthenticatedUser user
     ) {
-        var user = authorizationService.getLoggedInUser(httpRequest);
         commentService.deleteComment(commentId, user);
         return ResponseEntity.ok("Comment deleted successfully");
     }
 
     @GetMapping("/by-post/{postId}")
-    public List<CommentSummary> getCommentsByPost(@PathVariable Long postId,
-                                                  @RequestParam(defaultValue = "0") int page) {
-        return commentService.getCommentsByPost(postId, PageRequest.of(page, 10));
+    public ResponseEntity<List<CommentSummary>> getCommentsByPost(@PathVariable Long postId,
+                                                                  @RequestParam(defaultValue = "0") int page,
+                                                                  @RequestParam(required = false) String after) {
+        List<CommentSummary> comments = after == null
+                ? commentService.getCommentsByPost(postId,
+                        PageRequest.of(page, PAGE_SIZE, Sort.Direction.ASC, "id"))
+                : commentService.getCommentsByPostAfter(postId, PageCursor.decode(after).id(), PAGE_SIZE);
+        return CursorResponses.of(comments, PAGE_SIZE, c -> PageCursor.ofId(c.getId()));
+    }
+
+    @GetMapping("/search")
+    public List<CommentResponse> searchComments(@RequestParam("q") String query,
+                                                @RequestParam(defaultValue = "10") int limit) {
+        return commentService.searchComments(query, Math.min(Math.max(limit, 1), MAX_SEARCH_RESULTS));
+    }
+
+    @GetMapping(value = "/by-user/{username}/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportCommentsByUser(@PathVariable String username) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> exportService.exportComments(username, out));
     }
 
     @GetMapping("/by-user/{username}")
-    public List<CommentResponse> getCommentsByUser(@PathVariable String username,
-                                                   @RequestParam(defaultValue = "0") int page) {
-        return commentService.getCommentsByUser(username, PageRequest.of(page, 10));
+    public ResponseEntity<List<CommentResponse>> getCommentsByUser(@PathVariable String username,
+                                                                   @RequestParam(defaultValue = "0") int page,
+                                                                   @RequestParam(required = false) String after) {
+        List<CommentResponse> comments = after == null
+                ? commentService.getCommentsByUser(username,
+                        PageRequest.of(page, PAGE_SIZE, Sort.Direction.ASC, "id"))
+                : commentService.getCommentsByUserAfter(username, PageCursor.decode(after).id(), PAGE_SIZE);
+        return CursorResponses.of(comments, PAGE_SIZE, c -> PageCursor.ofId(c.getId()));
     }
 
 }
@@ -0,0 +1,32 @@
+package com.socialplatformapi.controller;
+
+import com.socialplatformapi.dto.page.CursorPage;
+import com.socialplatformapi.dto.page.PageCursor;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+final class CursorResponses {
+
+    private CursorResponses() {
+    }
+
+    // სრული გვერდის შემთხვევაში ბოლო ჩანაწერის კურსორს ვაბრუნებთ ჰედერში
+    static <T> ResponseEntity<List<T>> of(List<T> items, int pageSize, Function<T, PageCursor> cursorOf) {
+        var response = ResponseEntity.ok();
+        if (!items.isEmpty() && items.size() >= pageSize) {
+            response.header(PageCursor.NEXT_CURSOR_HEADER,
+                    cursorOf.apply(items.get(items.size() - 1)).encode());
+        }
+        return response.body(items);
+    }
+
+    static <T> ResponseEntity<List<T>> of(CursorPage<T> page) {
+        var response = ResponseEntity.ok();
+        if (page.next() != null) {
+            response.header(PageCursor.NEXT_CURSOR_HEADER, page.next().encode());
+        }
+        return response.body(page.items());
+    }
+}
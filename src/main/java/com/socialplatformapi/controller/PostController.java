@@ -1,22 +1,32 @@
 package com.socialplatformapi.controller;
 
+import com.socialplatformapi.dto.bulk.BulkResult;
+import com.socialplatformapi.dto.like.LikeStatus;
+import com.socialplatformapi.dto.like.LikerView;
+import com.socialplatformapi.dto.page.PageCursor;
+import com.socialplatformapi.dto.post.PostCacheStats;
 import com.socialplatformapi.dto.post.PostRequest;
 import com.socialplatformapi.dto.post.PostResponse;
 import com.socialplatformapi.model.Post;
-import com.socialplatformapi.service.AuthorizationService;
+import com.socialplatformapi.security.AuthenticatedUser;
+import com.socialplatformapi.security.CurrentUser;
+import com.socialplatformapi.service.ActivityHub;
+import com.socialplatformapi.service.ExportService;
 import com.socialplatformapi.service.LikeService;
 import com.socialplatformapi.service.PostService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
-import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.hibernate.query.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -25,9 +35,13 @@ import java.util.List;
 @RequiredArgsConstructor
 public class PostController {
 
+    private static final int PAGE_SIZE = 10;
+    private static final int MAX_SEARCH_RESULTS = 50;
+
     private final PostService postService;
-    private final AuthorizationService authorizationService;
     private final LikeService likeService;
+    private final ExportService exportService;
+    private final ActivityHub activityHub;
 
     @Operation(
             summary = "Create post",
@@ -38,13 +52,21 @@ public class PostController {
     @PostMapping
     public PostResponse createPost(
             @RequestBody @Valid PostRequest request,
-            HttpServletRequest httpRequest) {
-
-        var user = authorizationService.getLoggedInUser(httpRequest);
-
+            @CurrentUser AuthenticatedUser user) {
         return postService.createPost(request, user);
     }
 
+    @Operation(
+            summary = "Create posts in bulk",
+            parameters = {
+                    @Parameter(name = "X-Session-Token", in = ParameterIn.HEADER, required = true, description = "Session token")
+            }
+    )
+    @PostMapping("/bulk")
+    public BulkResult createPosts(@RequestBody List<PostRequest> requests, @CurrentUser AuthenticatedUser user) {
+        return postService.createPosts(requests, user);
+    }
+
     @Operation(
             summary = "Update post",
             parameters = {
@@ -55,10 +77,8 @@ public class PostController {
     public PostResponse updatePost(
             @PathVariable Long id,
             @RequestBody @Valid PostRequest request,
-            HttpServletRequest httpRequest
+            @CurrentUser AuthenticatedUser user
     ) {
-        var user = authorizationService.getLoggedInUser(httpRequest);
-
         return postService.updatePost(id, request, user);
     }
 
@@ -71,10 +91,8 @@ public class PostController {
     @DeleteMapping("/{id}")
     public String deletePost(
             @PathVariable Long id,
-            HttpServletRequest httpRequest
+            @CurrentUser AuthenticatedUser user
     ) {
-        var user = authorizationService.getLoggedInUser(httpRequest);
-
         postService.deletePost(id, user);
         return "Post deleted successfully";
     }
@@ -88,16 +106,61 @@ public class PostController {
                 PageRequest.of(likePage, 10));
     }
 
+    @GetMapping("/search")
+    public List<PostResponse> searchPosts(@RequestParam("q") String query,
+                                          @RequestParam(defaultValue = "10") int limit) {
+        return postService.searchPosts(query, Math.min(Math.max(limit, 1), MAX_SEARCH_RESULTS));
+    }
+
+    @GetMapping("/trending")
+    public List<PostResponse> getTrendingPosts(@RequestParam(defaultValue = "1h") String window,
+                                               @RequestParam(defaultValue = "10") int limit) {
+        return postService.getTrendingPosts(window, Math.min(Math.max(limit, 1), MAX_SEARCH_RESULTS));
+    }
+
+    @GetMapping("/cache/stats")
+    public PostCacheStats getCacheStats() {
+        return postService.getCacheStats();
+    }
+
     @GetMapping
-    public List<PostResponse> getAllPosts(@RequestParam(defaultValue = "0") int page) {
-        return postService.getAllPosts(PageRequest.of(page, 10, Sort.Direction.ASC, "id"));
+    public ResponseEntity<List<PostResponse>> getAllPosts(@RequestParam(defaultValue = "0") int page,
+                                                          @RequestParam(required = false) String after) {
+        List<PostResponse> posts = after == null
+                ? postService.getAllPosts(PageRequest.of(page, PAGE_SIZE, Sort.Direction.ASC, "id"))
+                : postService.getAllPostsAfter(PageCursor.decode(after).id(), PAGE_SIZE);
+        return CursorResponses.of(posts, PAGE_SIZE, p -> PageCursor.ofId(p.getPostId()));
+    }
+
+    @Operation(
+            summary = "Home timeline",
+            parameters = {
+                    @Parameter(name = "X-Session-Token", in = ParameterIn.HEADER, required = true, description = "Session token")
+            }
+    )
+    @GetMapping("/timeline")
+    public ResponseEntity<List<PostResponse>> getTimeline(@RequestParam(required = false) String after,
+                                                          @CurrentUser AuthenticatedUser user) {
+        PageCursor before = after == null ? null : PageCursor.decode(after);
+        return CursorResponses.of(postService.getTimeline(user, before, PAGE_SIZE));
     }
 
     @GetMapping("/by-user/{username}")
-    public List<PostResponse> getPostsByUser(@PathVariable String username
-            ,@RequestParam(defaultValue = "0") int page) {
-        return postService.getPostsByUser(username,
-                PageRequest.of(page, 10, Sort.Direction.ASC, "id"));
+    public ResponseEntity<List<PostResponse>> getPostsByUser(@PathVariable String username
+            ,@RequestParam(defaultValue = "0") int page
+            ,@RequestParam(required = false) String after) {
+        List<PostResponse> posts = after == null
+                ? postService.getPostsByUser(username,
+                        PageRequest.of(page, PAGE_SIZE, Sort.Direction.ASC, "id"))
+                : postService.getPostsByUserAfter(username, PageCursor.decode(after).id(), PAGE_SIZE);
+        return CursorResponses.of(posts, PAGE_SIZE, p -> PageCursor.ofId(p.getPostId()));
+    }
+
+    @GetMapping(value = "/by-user/{username}/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportPostsByUser(@PathVariable String username) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> exportService.exportPosts(username, out));
     }
 
     @Operation(
@@ -107,12 +170,47 @@ public class PostController {
             }
     )
     @PostMapping("/{id}/like")
-    public ResponseEntity<String> likePost(@PathVariable Long id, HttpServletRequest request) {
-        var user = authorizationService.getLoggedInUser(request);
+    public ResponseEntity<String> likePost(@PathVariable Long id, @CurrentUser AuthenticatedUser user) {
         likeService.likePost(id, user);
         return ResponseEntity.ok("Post liked");
     }
 
+    @Operation(
+            summary = "Like posts in bulk",
+            parameters = {
+                    @Parameter(name = "X-Session-Token", in = ParameterIn.HEADER, required = true, description = "Session token")
+            }
+    )
+    @PostMapping("/likes/bulk")
+    public BulkResult likePosts(@RequestBody List<Long> postIds, @CurrentUser AuthenticatedUser user) {
+        return likeService.likePosts(postIds, user);
+    }
+
+    @GetMapping("/{id}/likes")
+    public ResponseEntity<List<LikerView>> getLikers(@PathVariable Long id,
+                                                     @RequestParam(required = false) String after) {
+        List<LikerView> likers = likeService.getLikers(id,
+                after == null ? null : PageCursor.decode(after), PAGE_SIZE);
+        return CursorResponses.of(likers, PAGE_SIZE,
+                l -> PageCursor.of(l.getLikedAt().toString(), l.getId()));
+    }
+
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToPost(@PathVariable Long id) {
+        return activityHub.subscribeToPost(id);
+    }
+
+    @Operation(
+            summary = "Like status of the current user",
+            parameters = {
+                    @Parameter(name = "X-Session-Token", in = ParameterIn.HEADER, required = true, description = "Session token")
+            }
+    )
+    @GetMapping("/{id}/like")
+    public LikeStatus getLikeStatus(@PathVariable Long id, @CurrentUser AuthenticatedUser user) {
+        return likeService.getLikeStatus(id, user);
+    }
+
     @Operation(
             summary = "Unlike post",
             parameters = {
@@ -120,8 +218,7 @@ public class PostController {
             }
     )
     @DeleteMapping("/{id}/like")
-    public ResponseEntity<String> unlikePost(@PathVariable Long id, HttpServletRequest request) {
-        var user = authorizationService.getLoggedInUser(request);
+    public ResponseEntity<String> unlikePost(@PathVariable Long id, @CurrentUser AuthenticatedUser user) {
         likeService.unlikePost(id, user);
         return ResponseEntity.ok("Like removed");
     }
@@ -1,9 +1,21 @@
 package com.socialplatformapi.controller;
 
+import com.socialplatformapi.dto.auth.HashingStats;
 import com.socialplatformapi.dto.auth.UserLoginRequest;
+import com.socialplatformapi.dto.bulk.ImportReport;
+import com.socialplatformapi.dto.external.ReqresImportStats;
+import com.socialplatformapi.dto.page.PageCursor;
 import com.socialplatformapi.dto.register.UserRegisterRequest;
+import com.socialplatformapi.dto.session.SessionStats;
 import com.socialplatformapi.dto.user.UserSummary;
+import com.socialplatformapi.security.AuthenticatedUser;
+import com.socialplatformapi.security.CurrentUser;
+import com.socialplatformapi.service.ActivityHub;
+import com.socialplatformapi.service.FollowService;
+import com.socialplatformapi.service.PasswordHashingService;
+import com.socialplatformapi.service.ReqresService;
 import com.socialplatformapi.service.SessionService;
+import com.socialplatformapi.service.UserImportService;
 import com.socialplatformapi.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,29 +25,58 @@ import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @AllArgsConstructor
 @RestController
 @RequestMapping("/users")
 public class UserController {
 
+    private static final int PAGE_SIZE = 10;
+
     private final UserService userService;
     private final SessionService sessionService;
+    private final PasswordHashingService passwordHashingService;
+    private final ReqresService reqresService;
+    private final UserImportService userImportService;
+    private final FollowService followService;
+    private final ActivityHub activityHub;
 
     @PostMapping("/register")
-    public ResponseEntity<String> registerUser(@RequestBody @Valid UserRegisterRequest request) {
-        userService.registerUser(request);
-        return ResponseEntity.ok("User registered successfully");
+    public CompletableFuture<ResponseEntity<String>> registerUser(@RequestBody @Valid UserRegisterRequest request) {
+        return userService.registerUser(request)
+                .thenApply(ignored -> ResponseEntity.ok("User registered successfully"));
     }
 
     @PostMapping("/login")
-    public ResponseEntity<String> login(@RequestBody @Valid UserLoginRequest request) {
-        String token = userService.login(request);
-        return ResponseEntity.ok(token);
+    public CompletableFuture<ResponseEntity<String>> login(@RequestBody @Valid UserLoginRequest request,
+                                                           HttpServletRequest httpRequest) {
+        // forward-headers-strategy=native: proxy-ს უკან ეს X-Forwarded-For-იდან აღდგენილი კლიენტის მისამართია
+        return userService.login(request, httpRequest.getRemoteAddr())
+                .thenApply(ResponseEntity::ok);
+    }
+
+    @Operation(
+            summary = "Import users from CSV or NDJSON",
+            parameters = {
+                    @Parameter(name = "X-Admin-Token", in = ParameterIn.HEADER, required = true, description = "Admin token")
+            }
+    )
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ImportReport importUsers(@RequestHeader(value = "X-Admin-Token", required = false) String adminToken,
+                                    HttpServletRequest request) throws IOException {
+        // body-ს Spring არ კითხულობს: ფაილი სტრიქონ-სტრიქონ მუშავდება და მთლიანად მეხსიერებაში არ იტვირთება
+        UserImportService.Format format = MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(request.getContentType()))
+                ? UserImportService.Format.NDJSON
+                : UserImportService.Format.CSV;
+        return userImportService.importUsers(adminToken, format, request.getInputStream());
     }
 
     @Operation(
@@ -51,8 +92,62 @@ public class UserController {
         return ResponseEntity.ok("Logged out successfully");
     }
 
+    @Operation(
+            summary = "Activity on my posts",
+            parameters = {
+                    @Parameter(name = "X-Session-Token", in = ParameterIn.HEADER, required = true, description = "Session token")
+            }
+    )
+    @GetMapping(value = "/me/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToMyActivity(@CurrentUser AuthenticatedUser user) {
+        return activityHub.subscribeToUser(user.getId());
+    }
+
+    @Operation(
+            summary = "Follow user",
+            parameters = {
+                    @Parameter(name = "X-Session-Token", in = ParameterIn.HEADER, required = true, description = "Session token")
+            }
+    )
+    @PostMapping("/{username}/follow")
+    public ResponseEntity<String> follow(@PathVariable String username, @CurrentUser AuthenticatedUser user) {
+        followService.follow(username, user);
+        return ResponseEntity.ok("User followed");
+    }
+
+    @Operation(
+            summary = "Unfollow user",
+            parameters = {
+                    @Parameter(name = "X-Session-Token", in = ParameterIn.HEADER, required = true, description = "Session token")
+            }
+    )
+    @DeleteMapping("/{username}/follow")
+    public ResponseEntity<String> unfollow(@PathVariable String username, @CurrentUser AuthenticatedUser user) {
+        followService.unfollow(username, user);
+        return ResponseEntity.ok("User unfollowed");
+    }
+
+    @GetMapping("/hashing/stats")
+    public HashingStats getHashingStats() {
+        return passwordHashingService.getStats();
+    }
+
+    @GetMapping("/reqres/import-stats")
+    public ReqresImportStats getReqresImportStats() {
+        return reqresService.getImportStats();
+    }
+
+    @GetMapping("/sessions/stats")
+    public SessionStats getSessionStats() {
+        return sessionService.getStats();
+    }
+
     @GetMapping
-    public List<UserSummary> getUsers(@RequestParam(defaultValue = "0") int page) {
-        return userService.getAllUserNames(PageRequest.of(page, 10, Sort.Direction.ASC, "firstName"));
+    public ResponseEntity<List<UserSummary>> getUsers(@RequestParam(defaultValue = "0") int page,
+                                                      @RequestParam(required = false) String after) {
+        List<UserSummary> users = after == null
+                ? userService.getAllUserNames(PageRequest.of(page, PAGE_SIZE, Sort.by("firstName", "id")))
+                : userService.getAllUserNamesAfter(PageCursor.decode(after).requireKey(), PAGE_SIZE);
+        return CursorResponses.of(users, PAGE_SIZE, u -> PageCursor.of(u.getFirstName(), u.getId()));
     }
 }
@@ -0,0 +1,58 @@
+package com.socialplatformapi.dto.activity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.socialplatformapi.model.Comment;
+import com.socialplatformapi.security.AuthenticatedUser;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ActivityEvent {
+    private ActivityType type;
+    private Long postId;
+    private String username;
+    private Long commentId;
+    private String text;
+    private LocalDateTime at;
+    // მხოლოდ likes-changed-ში: რამდენი ლაიქი დაემატა და მოიხსნა გაერთიანებულ შუალედში
+    private Integer added;
+    private Integer removed;
+    @JsonIgnore
+    private Long actorId;
+
+    public static ActivityEvent commentEvent(ActivityType type, Comment comment, String commenterUsername) {
+        return new ActivityEvent(
+                type,
+                comment.getPost().getId(),
+                commenterUsername,
+                comment.getId(),
+                comment.getCommentText(),
+                LocalDateTime.now(),
+                null,
+                null,
+                comment.getCommenter().getId()
+        );
+    }
+
+    public static ActivityEvent commentDeleted(Long postId, Long commentId, String commenterUsername, Long commenterId) {
+        return new ActivityEvent(ActivityType.COMMENT_DELETED, postId, commenterUsername, commentId, null,
+                LocalDateTime.now(), null, null, commenterId);
+    }
+
+    public static ActivityEvent likeEvent(ActivityType type, Long postId, AuthenticatedUser user) {
+        return new ActivityEvent(type, postId, user.getUsername(), null, null, LocalDateTime.now(), null, null, user.getId());
+    }
+
+    public static ActivityEvent postDeleted(Long postId) {
+        return new ActivityEvent(ActivityType.POST_DELETED, postId, null, null, null, LocalDateTime.now(), null, null, null);
+    }
+
+    public static ActivityEvent likesChanged(Long postId, int added, int removed, LocalDateTime at) {
+        return new ActivityEvent(ActivityType.LIKES_CHANGED, postId, null, null, null, at, added, removed, null);
+    }
+}
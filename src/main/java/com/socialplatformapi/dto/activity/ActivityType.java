@@ -0,0 +1,28 @@
+package com.socialplatformapi.dto.activity;
+
+public enum ActivityType {
+    COMMENT_ADDED("comment-added", false),
+    COMMENT_UPDATED("comment-updated", false),
+    COMMENT_DELETED("comment-deleted", false),
+    LIKE_ADDED("like-added", true),
+    LIKE_REMOVED("like-removed", true),
+    LIKES_CHANGED("likes-changed", true),
+    POST_DELETED("post-deleted", false);
+
+    private final String eventName;
+    private final boolean coalescing;
+
+    ActivityType(String eventName, boolean coalescing) {
+        this.eventName = eventName;
+        this.coalescing = coalescing;
+    }
+
+    public String eventName() {
+        return eventName;
+    }
+
+    // ჩამორჩენილ კლიენტს ერთი პოსტის რიგში მდგომ ლაიქებს ერთ likes-changed მოვლენად ვუერთებთ
+    public boolean isCoalescing() {
+        return coalescing;
+    }
+}
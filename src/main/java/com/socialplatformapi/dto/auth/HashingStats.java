@@ -0,0 +1,19 @@
+package com.socialplatformapi.dto.auth;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class HashingStats {
+    private int threads;
+    private int active;
+    private int queued;
+    private int queueCapacity;
+    private long completed;
+    private long rejected;
+    private double averageHashMs;
+    private double maxHashMs;
+}
@@ -0,0 +1,25 @@
+package com.socialplatformapi.dto.bulk;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkItemResult {
+    private int index;
+    private boolean created;
+    private Long id;
+    private String error;
+
+    public static BulkItemResult created(int index, Long id) {
+        return new BulkItemResult(index, true, id, null);
+    }
+
+    public static BulkItemResult failed(int index, String error) {
+        return new BulkItemResult(index, false, null, error);
+    }
+}
@@ -0,0 +1,34 @@
+package com.socialplatformapi.dto.bulk;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Comparator;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class BulkResult {
+    private int created;
+    private int failed;
+    private long elapsedMs;
+    private double rowsPerSecond;
+    private List<BulkItemResult> items;
+
+    public static BulkResult of(List<BulkItemResult> items, long startNanos) {
+        long elapsedNanos = Math.max(1, System.nanoTime() - startNanos);
+        int created = (int) items.stream().filter(BulkItemResult::isCreated).count();
+        List<BulkItemResult> ordered = items.stream()
+                .sorted(Comparator.comparingInt(BulkItemResult::getIndex))
+                .toList();
+        return new BulkResult(
+                created,
+                items.size() - created,
+                elapsedNanos / 1_000_000,
+                created * 1_000_000_000.0 / elapsedNanos,
+                ordered
+        );
+    }
+}
@@ -0,0 +1,21 @@
+package com.socialplatformapi.dto.bulk;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class ImportReport {
+    private long rows;
+    private long created;
+    private long failed;
+    private long elapsedMs;
+    private double rowsPerSecond;
+    // index აქ ფაილის სტრიქონის ნომერია
+    private List<BulkItemResult> errors;
+    private boolean errorsTruncated;
+}
@@ -0,0 +1,13 @@
+package com.socialplatformapi.dto.comment;
+
+/**
+ * Who may delete a comment, read without the Post entity so a tombstoned post does
+ * not hide the comment from its author.
+ */
+public interface CommentOwnership {
+    Long getCommenterId();
+    String getCommenterUsername();
+    Long getPostId();
+    Long getPosterId();
+    boolean isPostDeleted();
+}
@@ -18,12 +18,26 @@ public class CommentResponse {
     private LocalDateTime commentDate;
 
     public static CommentResponse commentToDto(Comment comment) {
+        return commentToDto(comment, comment.getCommenter().getUsername());
+    }
+
+    public static CommentResponse commentToDto(Comment comment, String commenterUsername) {
         return new CommentResponse(
                 comment.getId(),
                 comment.getCommentText(),
-                comment.getCommenter().getUsername(),
+                commenterUsername,
                 comment.getPost().getId(),
                 comment.getCommentDate()
         );
     }
+
+    public static CommentResponse commentViewToDto(CommentView comment) {
+        return new CommentResponse(
+                comment.getId(),
+                comment.getCommentText(),
+                comment.getCommenterUsername(),
+                comment.getPostId(),
+                comment.getCommentDate()
+        );
+    }
 }
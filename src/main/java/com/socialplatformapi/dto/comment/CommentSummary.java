@@ -1,6 +1,11 @@
 package com.socialplatformapi.dto.comment;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 public interface CommentSummary {
+    @JsonIgnore
+    Long getId();
+
     String getCommenter_Username();
     String getCommentText();
 }
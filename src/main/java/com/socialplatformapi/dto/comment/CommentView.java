@@ -0,0 +1,11 @@
+package com.socialplatformapi.dto.comment;
+
+import java.time.LocalDateTime;
+
+public interface CommentView {
+    Long getId();
+    String getCommentText();
+    String getCommenterUsername();
+    Long getPostId();
+    LocalDateTime getCommentDate();
+}
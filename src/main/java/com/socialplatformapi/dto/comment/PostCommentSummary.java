@@ -0,0 +1,8 @@
+package com.socialplatformapi.dto.comment;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+public interface PostCommentSummary extends CommentSummary {
+    @JsonIgnore
+    Long getPostId();
+}
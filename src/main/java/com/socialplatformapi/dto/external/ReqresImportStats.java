@@ -0,0 +1,20 @@
+package com.socialplatformapi.dto.external;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class ReqresImportStats {
+    private String status;
+    private int pagesFetched;
+    private int totalPages;
+    private long fetched;
+    private long imported;
+    private long skipped;
+    private long failed;
+    private long elapsedMs;
+    private double usersPerSecond;
+}
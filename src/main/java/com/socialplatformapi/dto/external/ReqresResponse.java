@@ -1,5 +1,6 @@
 package com.socialplatformapi.dto.external;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 import lombok.Setter;
 import java.util.List;
@@ -8,8 +9,10 @@ import java.util.List;
 @Setter
     public class ReqresResponse {
         private int page;
+        @JsonProperty("per_page")
         private int perPage;
         private int total;
+        @JsonProperty("total_pages")
         private int totalPages;
         private List<ReqresUser> data;
 }
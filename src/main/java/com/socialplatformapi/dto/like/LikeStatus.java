@@ -0,0 +1,14 @@
+package com.socialplatformapi.dto.like;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class LikeStatus {
+    private Long postId;
+    private boolean liked;
+    private long likeCount;
+}
@@ -0,0 +1,13 @@
+package com.socialplatformapi.dto.like;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+
+public interface LikerView {
+    @JsonIgnore
+    Long getId();
+
+    String getUsername();
+    LocalDateTime getLikedAt();
+}
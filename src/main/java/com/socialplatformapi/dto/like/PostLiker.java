@@ -0,0 +1,6 @@
+package com.socialplatformapi.dto.like;
+
+public interface PostLiker {
+    Long getPostId();
+    String getUsername();
+}
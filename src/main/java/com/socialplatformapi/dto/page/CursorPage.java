@@ -0,0 +1,10 @@
+package com.socialplatformapi.dto.page;
+
+import java.util.List;
+
+/**
+ * A page whose next cursor is decided by the service, for sources where a page can
+ * come back short without being the last one.
+ */
+public record CursorPage<T>(List<T> items, PageCursor next) {
+}
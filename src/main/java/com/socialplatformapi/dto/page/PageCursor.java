@@ -0,0 +1,60 @@
+package com.socialplatformapi.dto.page;
+
+import com.socialplatformapi.exception.pagination.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor: the sort key of the last row a client has seen.
+ * Encoded as base64url so clients treat it as a token, not as an id.
+ */
+public record PageCursor(String key, Long id) {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String ID_PREFIX = "i:";
+    private static final String KEYED_PREFIX = "k:";
+
+    public static PageCursor ofId(Long id) {
+        return new PageCursor(null, id);
+    }
+
+    public static PageCursor of(String key, Long id) {
+        return new PageCursor(key, id);
+    }
+
+    public String encode() {
+        String raw = key == null
+                ? ID_PREFIX + id
+                : KEYED_PREFIX + id + ":" + key;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (raw.startsWith(ID_PREFIX)) {
+                return ofId(Long.parseLong(raw.substring(ID_PREFIX.length())));
+            }
+            if (raw.startsWith(KEYED_PREFIX)) {
+                int separator = raw.indexOf(':', KEYED_PREFIX.length());
+                if (separator > 0) {
+                    Long id = Long.parseLong(raw.substring(KEYED_PREFIX.length(), separator));
+                    return of(raw.substring(separator + 1), id);
+                }
+            }
+        } catch (IllegalArgumentException ignored) {
+            // ქვემოთ ერთიანი შეცდომა
+        }
+        throw new InvalidCursorException("Invalid cursor '" + cursor + "'");
+    }
+
+    public PageCursor requireKey() {
+        if (key == null) {
+            throw new InvalidCursorException("Cursor does not carry a sort key");
+        }
+        return this;
+    }
+}
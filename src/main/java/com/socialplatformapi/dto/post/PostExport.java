@@ -0,0 +1,31 @@
+package com.socialplatformapi.dto.post;
+
+import com.socialplatformapi.model.Post;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class PostExport {
+    private Long postId;
+    private String text;
+    private LocalDateTime postDate;
+    private String authorUsername;
+    private long likeCount;
+    private long commentCount;
+
+    public static PostExport postToExport(Post post) {
+        return new PostExport(
+                post.getId(),
+                post.getText(),
+                post.getPostDate(),
+                post.getPoster().getUsername(),
+                post.getLikeCount(),
+                post.getCommentCount()
+        );
+    }
+}
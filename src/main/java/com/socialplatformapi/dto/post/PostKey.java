@@ -0,0 +1,8 @@
+package com.socialplatformapi.dto.post;
+
+import java.time.LocalDateTime;
+
+public interface PostKey {
+    Long getId();
+    LocalDateTime getPostDate();
+}
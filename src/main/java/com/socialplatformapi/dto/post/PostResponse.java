@@ -23,28 +23,54 @@ public class PostResponse {
     private String authorUsername;
     private List<CommentSummary> comments;
     private List<String> likedBy;
+    private long likeCount;
+    private long commentCount;
 
-    public static PostResponse newPostToDto(Post post) {
+    public static PostResponse newPostToDto(Post post, String authorUsername) {
         return new PostResponse(
                 post.getId(),
                 post.getText(),
                 post.getPostDate(),
-                post.getPoster().getUsername(),
+                authorUsername,
                 new ArrayList<>(),
-                new ArrayList<>()
+                new ArrayList<>(),
+                0,
+                0
         );
     }
 
     public static PostResponse postToDto(Post post,
+                                         String authorUsername,
                                          List<CommentSummary> comments,
-                                         List<String> likedBy) {
+                                         List<String> likedBy,
+                                         long likeCount,
+                                         long commentCount) {
+        return new PostResponse(
+                post.getId(),
+                post.getText(),
+                post.getPostDate(),
+                authorUsername,
+                comments,
+                likedBy,
+                likeCount,
+                commentCount
+        );
+    }
+
+    public static PostResponse postViewToDto(PostView post,
+                                             List<CommentSummary> comments,
+                                             List<String> likedBy,
+                                             long likeCount,
+                                             long commentCount) {
         return new PostResponse(
                 post.getId(),
                 post.getText(),
                 post.getPostDate(),
-                post.getPoster().getUsername(),
+                post.getPosterUsername(),
                 comments,
-                likedBy
+                likedBy,
+                likeCount,
+                commentCount
         );
     }
 }
@@ -0,0 +1,12 @@
+package com.socialplatformapi.dto.post;
+
+import java.time.LocalDateTime;
+
+public interface PostView {
+    Long getId();
+    String getText();
+    LocalDateTime getPostDate();
+    String getPosterUsername();
+    long getLikeCount();
+    long getCommentCount();
+}
@@ -0,0 +1,6 @@
+package com.socialplatformapi.dto.search;
+
+public interface IndexedText {
+    Long getId();
+    String getText();
+}
@@ -0,0 +1,18 @@
+package com.socialplatformapi.dto.session;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class SessionStats {
+    private String store;
+    private long active;
+    private long maxSessions;
+    private long created;
+    private long expired;
+    private long evicted;
+    private long invalidated;
+}
@@ -1,6 +1,11 @@
 package com.socialplatformapi.dto.user;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 public interface UserSummary {
+    @JsonIgnore
+    Long getId();
+
     String getFirstName();
     String getLastName();
 }
@@ -1,12 +1,18 @@
 package com.socialplatformapi.exception;
 
 import com.socialplatformapi.exception.auth.AuthenticationException;
+import com.socialplatformapi.exception.auth.TooManyAttemptsException;
+import com.socialplatformapi.exception.bulk.BulkRequestException;
 import com.socialplatformapi.exception.comment.CommentException;
+import com.socialplatformapi.exception.follow.FollowException;
 import com.socialplatformapi.exception.like.LikeException;
+import com.socialplatformapi.exception.overload.OverloadException;
+import com.socialplatformapi.exception.pagination.InvalidCursorException;
 import com.socialplatformapi.exception.post.PostException;
 import com.socialplatformapi.exception.user.RegistrationException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -65,6 +71,37 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(HttpStatus.CONFLICT, ex.getMessage(), request);
     }
 
+    @ExceptionHandler(FollowException.class)
+    public ResponseEntity<ErrorResponse> handleFollowException(FollowException ex, HttpServletRequest request) {
+        return buildErrorResponse(HttpStatus.CONFLICT, ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursor(InvalidCursorException ex, HttpServletRequest request) {
+        return buildErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(BulkRequestException.class)
+    public ResponseEntity<ErrorResponse> handleBulkRequestException(BulkRequestException ex, HttpServletRequest request) {
+        return buildErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(OverloadException.class)
+    public ResponseEntity<ErrorResponse> handleOverloadException(OverloadException ex, HttpServletRequest request) {
+        ResponseEntity<ErrorResponse> response = buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), request);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response.getBody());
+    }
+
+    @ExceptionHandler(TooManyAttemptsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyAttempts(TooManyAttemptsException ex, HttpServletRequest request) {
+        ResponseEntity<ErrorResponse> response = buildErrorResponse(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage(), request);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response.getBody());
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationException(MethodArgumentNotValidException ex, HttpServletRequest request) {
         Map<String, String> fieldErrors = new HashMap<>();
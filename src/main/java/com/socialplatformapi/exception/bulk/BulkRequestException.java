@@ -0,0 +1,7 @@
+package com.socialplatformapi.exception.bulk;
+
+public class BulkRequestException extends RuntimeException {
+    public BulkRequestException(String message) {
+        super(message);
+    }
+}
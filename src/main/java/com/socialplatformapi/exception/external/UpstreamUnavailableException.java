@@ -0,0 +1,7 @@
+package com.socialplatformapi.exception.external;
+
+public class UpstreamUnavailableException extends RuntimeException {
+    public UpstreamUnavailableException(String message) {
+        super(message);
+    }
+}
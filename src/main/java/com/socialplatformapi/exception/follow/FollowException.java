@@ -0,0 +1,7 @@
+package com.socialplatformapi.exception.follow;
+
+public class FollowException extends RuntimeException {
+    public FollowException(String message) {
+        super(message);
+    }
+}
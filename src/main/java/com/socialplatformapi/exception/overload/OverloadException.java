@@ -0,0 +1,13 @@
+package com.socialplatformapi.exception.overload;
+
+import lombok.Getter;
+
+@Getter
+public class OverloadException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public OverloadException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,7 @@
+package com.socialplatformapi.exception.pagination;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
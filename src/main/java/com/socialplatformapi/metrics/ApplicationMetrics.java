@@ -0,0 +1,67 @@
+package com.socialplatformapi.metrics;
+
+import com.socialplatformapi.service.ActivityHub;
+import com.socialplatformapi.service.PasswordHashingService;
+import com.socialplatformapi.service.PostService;
+import com.socialplatformapi.service.SessionService;
+import com.socialplatformapi.service.UserIdentityCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gauges and counters read from the in-process stores at scrape time: sessions,
+ * password hashing, the identity and post view caches, and event subscribers.
+ */
+@Component
+@RequiredArgsConstructor
+public class ApplicationMetrics implements MeterBinder {
+
+    private final SessionService sessionService;
+    private final PasswordHashingService passwordHashingService;
+    private final UserIdentityCache userIdentityCache;
+    private final PostService postService;
+    private final ActivityHub activityHub;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("sessions.active", sessionService, s -> s.getStats().getActive())
+                .register(registry);
+        FunctionCounter.builder("sessions.created", sessionService, s -> s.getStats().getCreated())
+                .register(registry);
+        FunctionCounter.builder("sessions.removed", sessionService, s -> s.getStats().getExpired())
+                .tag("cause", "expired")
+                .register(registry);
+        FunctionCounter.builder("sessions.removed", sessionService, s -> s.getStats().getEvicted())
+                .tag("cause", "evicted")
+                .register(registry);
+        FunctionCounter.builder("sessions.removed", sessionService, s -> s.getStats().getInvalidated())
+                .tag("cause", "invalidated")
+                .register(registry);
+
+        Gauge.builder("password.hashing.queued", passwordHashingService, s -> s.getStats().getQueued())
+                .register(registry);
+        Gauge.builder("password.hashing.active", passwordHashingService, s -> s.getStats().getActive())
+                .register(registry);
+        FunctionCounter.builder("password.hashing.rejected", passwordHashingService, s -> s.getStats().getRejected())
+                .register(registry);
+
+        Gauge.builder("auth.identity.cache.size", userIdentityCache, UserIdentityCache::size)
+                .register(registry);
+
+        Gauge.builder("posts.view.cache.size", postService, s -> s.getCacheStats().getCachedPosts())
+                .register(registry);
+        FunctionCounter.builder("posts.view.cache.requests", postService, s -> s.getCacheStats().getHits())
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("posts.view.cache.requests", postService, s -> s.getCacheStats().getMisses())
+                .tag("result", "miss")
+                .register(registry);
+
+        Gauge.builder("activity.subscribers", activityHub, ActivityHub::subscriberCount)
+                .register(registry);
+    }
+}
@@ -0,0 +1,70 @@
+package com.socialplatformapi.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of the service layer as app.service{class, method,
+ * exception}. Methods that return a CompletionStage are timed until the stage
+ * completes, so work handed to a pool (password hashing) is included.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceTimingAspect {
+
+    public static final String METRIC = "app.service";
+
+    private final MeterRegistry registry;
+    // წარმატებული გამოძახების timer-ი ცხელ გზაზე tag-ების აწყობის გარეშე
+    private final Map<Method, Timer> successTimers = new ConcurrentHashMap<>();
+
+    @Around("execution(public * com.socialplatformapi.service..*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            record(joinPoint, start, e);
+            throw e;
+        }
+        if (result instanceof CompletionStage<?> stage) {
+            stage.whenComplete((value, e) -> record(joinPoint, start,
+                    e instanceof CompletionException && e.getCause() != null ? e.getCause() : e));
+        } else {
+            record(joinPoint, start, null);
+        }
+        return result;
+    }
+
+    private void record(ProceedingJoinPoint joinPoint, long start, Throwable error) {
+        long elapsed = System.nanoTime() - start;
+        Timer timer = error == null
+                ? successTimers.computeIfAbsent(((MethodSignature) joinPoint.getSignature()).getMethod(),
+                        method -> timer(joinPoint, "none"))
+                : timer(joinPoint, error.getClass().getSimpleName());
+        timer.record(elapsed, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(ProceedingJoinPoint joinPoint, String exception) {
+        return Timer.builder(METRIC)
+                .tag("class", joinPoint.getTarget().getClass().getSimpleName())
+                .tag("method", joinPoint.getSignature().getName())
+                .tag("exception", exception)
+                .register(registry);
+    }
+}
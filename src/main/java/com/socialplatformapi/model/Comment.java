@@ -3,16 +3,22 @@ package com.socialplatformapi.model;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 @Getter
 @Setter
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+        @Index(name = "idx_comments_post_id", columnList = "post_id, id"),
+        @Index(name = "idx_comments_commenter_id", columnList = "commenter_id, id"),
+        @Index(name = "idx_comments_updated_at", columnList = "updated_at")
+})
 public class Comment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comments_seq")
+    @SequenceGenerator(name = "comments_seq", sequenceName = "comments_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "comment_text", nullable = false)
@@ -21,6 +27,11 @@ public class Comment {
     @Column(name = "comment_date", nullable = false)
     private LocalDateTime commentDate;
 
+    // ძებნის ინდექსი სეგმენტის შემდეგ შეცვლილ ტექსტებს ამით პოულობს
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "post_id", nullable = false)
     private Post post;
@@ -0,0 +1,31 @@
+package com.socialplatformapi.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "follows",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"follower_id", "followee_id"}),
+        indexes = @Index(name = "idx_follows_followee_id", columnList = "followee_id"))
+public class Follow {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "follows_seq")
+    @SequenceGenerator(name = "follows_seq", sequenceName = "follows_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "follower_id", nullable = false)
+    private User follower;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "followee_id", nullable = false)
+    private User followee;
+
+    @Column(name = "followed_at", nullable = false)
+    private LocalDateTime followedAt;
+}
@@ -9,17 +9,19 @@ import java.time.LocalDateTime;
 @Setter
 @Getter
 @Entity
-@Table(name = "likes",uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "post_id"}))
+@Table(name = "likes",uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "post_id"}),
+        indexes = @Index(name = "idx_likes_post_id_liked_at", columnList = "post_id, liked_at, id"))
 public class Like {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "likes_seq")
+    @SequenceGenerator(name = "likes_seq", sequenceName = "likes_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "post_id", nullable = false)
     private Post post;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
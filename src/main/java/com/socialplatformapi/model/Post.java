@@ -1,20 +1,26 @@
 package com.socialplatformapi.model;
 
-import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 @Getter
 @Setter
 @Entity
-@Table(name = "posts")
+@SQLRestriction("deleted_at is null")
+@Table(name = "posts", indexes = {
+        @Index(name = "idx_posts_poster_id", columnList = "poster_id, id"),
+        @Index(name = "idx_posts_poster_id_post_date", columnList = "poster_id, post_date, id"),
+        @Index(name = "idx_posts_updated_at", columnList = "updated_at")
+})
 public class Post {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "posts_seq")
+    @SequenceGenerator(name = "posts_seq", sequenceName = "posts_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "text", nullable = false)
@@ -23,15 +29,23 @@ public class Post {
     @Column(name = "post_date", nullable = false)
     private LocalDateTime postDate;
 
-    @ManyToOne
-    @JoinColumn(name = "poster_id", nullable = false)
-    private User poster;
+    // მთვლელებს მხოლოდ PostCounterService ცვლის, ამიტომ entity-ის update მათ არ ეხება
+    @Column(name = "like_count", nullable = false, updatable = false)
+    private long likeCount;
+
+    @Column(name = "comment_count", nullable = false, updatable = false)
+    private long commentCount;
 
-    @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
-    @JsonIgnore
-    private List<Comment> comments;
+    // ძებნის ინდექსი სეგმენტის შემდეგ შეცვლილ ტექსტებს ამით პოულობს
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
 
-    @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
-    @JsonIgnore
-    private List<Like> likes;
+    // წაშლილი პოსტი purge-მდე ბაზაში რჩება, მაგრამ არცერთ query-ში აღარ ჩანს
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "poster_id", nullable = false)
+    private User poster;
 }
@@ -1,23 +1,22 @@
 package com.socialplatformapi.model;
 
-import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.Accessors;
 
 import java.time.LocalDate;
-import java.util.List;
 
 
 @Accessors(chain = true)
 @Getter
 @Setter
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_users_first_name", columnList = "first_name, id"))
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "first_name", nullable = false)
@@ -38,14 +37,6 @@ public class User {
     @Column(name = "email", unique = true, nullable = false)
     private String email;
 
-    @OneToMany(mappedBy = "poster", cascade = CascadeType.ALL, orphanRemoval = true)
-    @JsonIgnore
-    private List<Post> posts;
-
-    @OneToMany(mappedBy = "commenter", cascade = CascadeType.ALL, orphanRemoval = true)
-    @JsonIgnore
-    private List<Comment> comments;
-
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
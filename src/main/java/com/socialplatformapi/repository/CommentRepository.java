@@ -1,16 +1,108 @@
 package com.socialplatformapi.repository;
 
+import com.socialplatformapi.dto.comment.CommentOwnership;
 import com.socialplatformapi.dto.comment.CommentSummary;
+import com.socialplatformapi.dto.comment.CommentView;
+import com.socialplatformapi.dto.comment.PostCommentSummary;
+import com.socialplatformapi.dto.search.IndexedText;
 import com.socialplatformapi.model.Comment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    String VIEW_SELECT = """
+            select c.id as id, c.commentText as commentText, u.username as commenterUsername,
+                   c.post.id as postId, c.commentDate as commentDate
+            from Comment c join c.commenter u join c.post p on p.deletedAt is null
+            """;
+
     List<CommentSummary> findAllByPostId(Long postId, Pageable pageable);
-    List<Comment> findAllByCommenterUsername(String username, Pageable pageable);
     List<CommentSummary> findAllById(Long id, Pageable pageable);
+    List<CommentSummary> findAllByPostIdAndIdGreaterThan(Long postId, Long id, Pageable pageable);
+
+    @Query(VIEW_SELECT + "where u.username = :username")
+    List<CommentView> findViewsByCommenterUsername(@Param("username") String username, Pageable pageable);
+
+    @Query(VIEW_SELECT + "where u.username = :username and c.id > :afterId")
+    List<CommentView> findViewsByCommenterUsernameAfter(@Param("username") String username,
+                                                        @Param("afterId") Long afterId,
+                                                        Pageable pageable);
+
+    @Query(VIEW_SELECT + "where c.id in :ids")
+    List<CommentView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Transactional
+    @Query("delete from Comment c where c.id = :id")
+    int deleteCommentById(@Param("id") Long id);
+
+    @Query("select coalesce(max(c.id), 0) from Comment c")
+    Long findMaxId();
+
+    @Query("select c.id as id, c.commentText as text from Comment c where c.id > :fromId and c.id <= :toId")
+    List<IndexedText> findTextsInRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Query("select c.id as id, c.commentText as text from Comment c where c.updatedAt >= :since")
+    List<IndexedText> findTextsUpdatedSince(@Param("since") LocalDateTime since);
+
+    @Query("select c.id from Comment c where c.id > :fromId and c.id <= :toId")
+    List<Long> findIdsInRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    // ცხრილის OID: ddl-auto create-ით თავიდან შექმნისას იცვლება
+    @Query(value = "select cast(cast(to_regclass('comments') as oid) as bigint)", nativeQuery = true)
+    Long findTableGeneration();
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    // tombstone-ით დამალული პოსტების კომენტარები ექსპორტში არ ხვდება
+    @Query("select c from Comment c join fetch c.commenter u join c.post p on p.deletedAt is null " +
+            "where u.username = :username order by c.id")
+    Stream<Comment> streamAllByCommenterUsername(@Param("username") String username);
+
+    // native, რომ Post-ის @SQLRestriction tombstone-ით დამალულ პოსტს არ გამოტოვებდეს
+    @Query(value = """
+            SELECT c.commenter_id AS "commenterId",
+                   u.username AS "commenterUsername",
+                   c.post_id AS "postId",
+                   p.poster_id AS "posterId",
+                   p.deleted_at IS NOT NULL AS "postDeleted"
+            FROM comments c
+            JOIN users u ON u.id = c.commenter_id
+            JOIN posts p ON p.id = c.post_id
+            WHERE c.id = :id
+            """, nativeQuery = true)
+    Optional<CommentOwnership> findOwnershipById(@Param("id") Long id);
+
+    // ფიდის ყველა პოსტის პირველი N კომენტარი ერთი query-თ (window function)
+    @Query(value = """
+            SELECT c.id AS "id",
+                   c.post_id AS "postId",
+                   u.username AS "commenter_Username",
+                   c.comment_text AS "commentText"
+            FROM (
+                SELECT cm.id, cm.post_id, cm.commenter_id, cm.comment_text,
+                       ROW_NUMBER() OVER (PARTITION BY cm.post_id ORDER BY cm.id) AS rn
+                FROM comments cm
+                WHERE cm.post_id IN (:postIds)
+            ) c
+            JOIN users u ON u.id = c.commenter_id
+            WHERE c.rn <= :limit
+            ORDER BY c.post_id, c.id
+            """, nativeQuery = true)
+    List<PostCommentSummary> findTopByPostIds(@Param("postIds") Collection<Long> postIds,
+                                              @Param("limit") int limit);
 }
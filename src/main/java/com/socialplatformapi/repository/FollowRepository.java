@@ -0,0 +1,29 @@
+package com.socialplatformapi.repository;
+
+import com.socialplatformapi.model.Follow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface FollowRepository extends JpaRepository<Follow, Long> {
+    boolean existsByFollowerIdAndFolloweeId(Long followerId, Long followeeId);
+    long countByFolloweeId(Long followeeId);
+
+    @Query("select f.follower.id from Follow f where f.followee.id = :followeeId")
+    List<Long> findFollowerIds(@Param("followeeId") Long followeeId);
+
+    @Query("select f.followee.id from Follow f where f.follower.id = :followerId")
+    List<Long> findFolloweeIds(@Param("followerId") Long followerId);
+
+    @Modifying
+    @Transactional
+    @Query("delete from Follow f where f.follower.id = :followerId and f.followee.id = :followeeId")
+    int deleteByFollowerIdAndFolloweeId(@Param("followerId") Long followerId,
+                                        @Param("followeeId") Long followeeId);
+}
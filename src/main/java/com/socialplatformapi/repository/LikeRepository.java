@@ -1,10 +1,18 @@
 package com.socialplatformapi.repository;
 
+import com.socialplatformapi.dto.like.LikerView;
+import com.socialplatformapi.dto.like.PostLiker;
 import com.socialplatformapi.model.Like;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,5 +20,53 @@ import java.util.Optional;
 public interface LikeRepository extends JpaRepository<Like, Long> {
     boolean existsLikeByPostIdAndUserId(Long postId, Long userId);
     Optional<Like> findByUserIdAndPostId(Long userId, Long postId);
-    List<Like> findAllByPostId(Long postId, Pageable pageable);
+
+    // მხოლოდ username და თარიღი: Like/Post/User entity-ები არ იტვირთება
+    @Query("""
+            select l.id as id, u.username as username, l.likedAt as likedAt
+            from Like l join l.user u
+            where l.post.id = :postId
+            order by l.likedAt, l.id
+            """)
+    List<LikerView> findLikers(@Param("postId") Long postId, Pageable pageable);
+
+    @Query("""
+            select l.id as id, u.username as username, l.likedAt as likedAt
+            from Like l join l.user u
+            where l.post.id = :postId
+              and (l.likedAt > :likedAt or (l.likedAt = :likedAt and l.id > :id))
+            order by l.likedAt, l.id
+            """)
+    List<LikerView> findLikersAfter(@Param("postId") Long postId,
+                                    @Param("likedAt") LocalDateTime likedAt,
+                                    @Param("id") Long id,
+                                    Pageable pageable);
+
+    @Query("select l.user.id from Like l where l.post.id = :postId")
+    List<Long> findUserIdsByPostId(@Param("postId") Long postId);
+
+    @Query("select l.post.id from Like l where l.user.id = :userId and l.post.id in :postIds")
+    List<Long> findLikedPostIds(@Param("userId") Long userId, @Param("postIds") Collection<Long> postIds);
+
+    @Modifying
+    @Transactional
+    @Query("delete from Like l where l.user.id = :userId and l.post.id = :postId")
+    int deleteByUserIdAndPostId(@Param("userId") Long userId, @Param("postId") Long postId);
+
+    // ფიდის ყველა პოსტის პირველი N მომწონებელი ერთი query-თ
+    @Query(value = """
+            SELECT l.post_id AS "postId",
+                   u.username AS "username"
+            FROM (
+                SELECT lk.id, lk.post_id, lk.user_id,
+                       ROW_NUMBER() OVER (PARTITION BY lk.post_id ORDER BY lk.id) AS rn
+                FROM likes lk
+                WHERE lk.post_id IN (:postIds)
+            ) l
+            JOIN users u ON u.id = l.user_id
+            WHERE l.rn <= :limit
+            ORDER BY l.post_id, l.id
+            """, nativeQuery = true)
+    List<PostLiker> findTopLikersByPostIds(@Param("postIds") Collection<Long> postIds,
+                                           @Param("limit") int limit);
 }
@@ -1,14 +1,85 @@
 package com.socialplatformapi.repository;
 
+import com.socialplatformapi.dto.post.PostKey;
+import com.socialplatformapi.dto.post.PostView;
+import com.socialplatformapi.dto.search.IndexedText;
 import com.socialplatformapi.model.Post;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface PostRepository extends CrudRepository<Post, Long> {
-    List<Post> findAllBy(Pageable pageable);
-    List<Post> findAllByPosterUsername(String username, Pageable pageable);
+public interface PostRepository extends JpaRepository<Post, Long> {
+    // წაკითხვის გზა: მხოლოდ PostResponse-ისთვის საჭირო სვეტები, persistence context-ში entity არ ხვდება
+    String VIEW_SELECT = """
+            select p.id as id, p.text as text, p.postDate as postDate, u.username as posterUsername,
+                   p.likeCount as likeCount, p.commentCount as commentCount
+            from Post p join p.poster u
+            """;
+
+    @Query(VIEW_SELECT + "where p.id = :id")
+    Optional<PostView> findViewById(@Param("id") Long id);
+
+    @Query(VIEW_SELECT)
+    List<PostView> findViews(Pageable pageable);
+
+    @Query(VIEW_SELECT + "where u.username = :username")
+    List<PostView> findViewsByPosterUsername(@Param("username") String username, Pageable pageable);
+
+    @Query(VIEW_SELECT + "where p.id in :ids")
+    List<PostView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(VIEW_SELECT + "where p.id > :afterId")
+    List<PostView> findViewsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(VIEW_SELECT + "where u.username = :username and p.id > :afterId")
+    List<PostView> findViewsByPosterUsernameAfter(@Param("username") String username,
+                                                  @Param("afterId") Long afterId,
+                                                  Pageable pageable);
+
+    @EntityGraph(attributePaths = "poster")
+    List<Post> findAllByIdIn(Collection<Long> ids);
+
+    // pooled sequence-ის id-ები ნოდებს შორის დროის რიგს არ მისდევს
+    @Query("select p.id as id, p.postDate as postDate from Post p where p.poster.id in :posterIds " +
+            "order by p.postDate desc, p.id desc")
+    List<PostKey> findRecentKeysByPosterIds(@Param("posterIds") Collection<Long> posterIds, Pageable pageable);
+
+    @Query("select p.id from Post p where p.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select p.poster.id from Post p where p.id = :postId")
+    Optional<Long> findPosterIdById(@Param("postId") Long postId);
+
+    @Query("select coalesce(max(p.id), 0) from Post p")
+    Long findMaxId();
+
+    @Query("select p.id as id, p.text as text from Post p where p.id > :fromId and p.id <= :toId")
+    List<IndexedText> findTextsInRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Query("select p.id as id, p.text as text from Post p where p.updatedAt >= :since")
+    List<IndexedText> findTextsUpdatedSince(@Param("since") LocalDateTime since);
+
+    @Query("select p.id from Post p where p.id > :fromId and p.id <= :toId")
+    List<Long> findIdsInRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    // ცხრილის OID: ddl-auto create-ით თავიდან შექმნისას იცვლება
+    @Query(value = "select cast(cast(to_regclass('posts') as oid) as bigint)", nativeQuery = true)
+    Long findTableGeneration();
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select p from Post p join fetch p.poster u where u.username = :username order by p.id")
+    Stream<Post> streamAllByPosterUsername(@Param("username") String username);
 }
@@ -4,8 +4,13 @@ import com.socialplatformapi.dto.user.UserSummary;
 import com.socialplatformapi.model.User;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,5 +20,35 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
+
+    @Query("select u.username from User u where u.username in :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("select u.username from User u where u.id = :id")
+    Optional<String> findUsernameById(@Param("id") Long id);
+
+    @Modifying
+    @Transactional
+    @Query("update User u set u.password = :password where u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
     List<UserSummary> findAllProjectedBy(Pageable pageable);
+
+    // (firstName, id) > (:firstName, :id), ისე დაწერილი რომ (first_name, id) ინდექსი გამოიყენოს
+    @Query("""
+            select u.id as id, u.firstName as firstName, u.lastName as lastName
+            from User u
+            where u.firstName >= :firstName
+              and (u.firstName > :firstName or u.id > :id)
+            order by u.firstName, u.id
+            """)
+    List<UserSummary> findAllProjectedAfter(@Param("firstName") String firstName,
+                                            @Param("id") Long id,
+                                            Pageable pageable);
+
+    // ცხრილის OID: ddl-auto create-ით თავიდან შექმნისას იცვლება
+    @Query(value = "select cast(cast(to_regclass('users') as oid) as bigint)", nativeQuery = true)
+    Long findTableGeneration();
 }
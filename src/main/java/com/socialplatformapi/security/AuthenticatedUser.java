@@ -0,0 +1,16 @@
+package com.socialplatformapi.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The caller of the current request: just enough identity for ownership checks and
+ * for building responses. Services turn it into an entity reference only when they
+ * write an association.
+ */
+@Getter
+@AllArgsConstructor
+public class AuthenticatedUser {
+    private final Long id;
+    private final String username;
+}
@@ -0,0 +1,20 @@
+package com.socialplatformapi.security;
+
+import io.swagger.v3.oas.annotations.Parameter;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Injects the {@link AuthenticatedUser} resolved by {@link SessionAuthenticationFilter};
+ * the request fails with 401 when there is none.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Parameter(hidden = true)
+public @interface CurrentUser {
+}
@@ -0,0 +1,33 @@
+package com.socialplatformapi.security;
+
+import com.socialplatformapi.exception.auth.AuthenticationException;
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+@Component
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+                && parameter.getParameterType().equals(AuthenticatedUser.class);
+    }
+
+    @Override
+    public AuthenticatedUser resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                             NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Object user = webRequest.getAttribute(SessionAuthenticationFilter.USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (user != null) {
+            return (AuthenticatedUser) user;
+        }
+        if (webRequest.getHeader(SessionAuthenticationFilter.TOKEN_HEADER) == null) {
+            throw new AuthenticationException("Missing session token");
+        }
+        throw new AuthenticationException("Invalid or expired session token");
+    }
+}
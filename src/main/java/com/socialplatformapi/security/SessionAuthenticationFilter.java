@@ -0,0 +1,38 @@
+package com.socialplatformapi.security;
+
+import com.socialplatformapi.service.AuthorizationService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Resolves the session token once per request and stores the caller as a request
+ * attribute. It never rejects a request itself: endpoints that need a user ask for
+ * one with {@link CurrentUser}.
+ */
+@Component
+@RequiredArgsConstructor
+public class SessionAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String TOKEN_HEADER = "X-Session-Token";
+    public static final String USER_ATTRIBUTE = AuthenticatedUser.class.getName();
+
+    private final AuthorizationService authorizationService;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String token = request.getHeader(TOKEN_HEADER);
+        if (token != null) {
+            authorizationService.authenticate(token)
+                    .ifPresent(user -> request.setAttribute(USER_ATTRIBUTE, user));
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,420 @@
+package com.socialplatformapi.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.socialplatformapi.dto.activity.ActivityEvent;
+import com.socialplatformapi.exception.overload.OverloadException;
+import com.socialplatformapi.exception.post.PostException;
+import com.socialplatformapi.repository.PostRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process broadcast of comment and like activity to server-sent event streams,
+ * per post and per post owner. Idle connections cost only an emitter and a small
+ * queue; a dispatcher pool writes to subscribers that have something queued.
+ * A slow subscriber's queue is bounded: once it is backed up, like events for the
+ * same post are merged into one {@code likes-changed} event carrying the added and
+ * removed counts, and beyond that the oldest events are dropped and the client is
+ * told how many it missed. A send that blocks longer than the send timeout gets the
+ * client unregistered, and the pool gets a stand-in thread until that send returns.
+ * Each subscriber's send state is one CAS-ed field, so exactly one of the stall check
+ * and the returning send owns the stalled send and the stand-in thread is released once.
+ */
+@Service
+public class ActivityHub {
+
+    // send-ის მდგომარეობა: 0 = არაფერი იგზავნება, დადებითი = მიმდინარე send-ის დაწყების დრო
+    private static final long IDLE = 0;
+    private static final long STALLED = -1;
+    private static final long STALLED_WITH_STAND_IN = -2;
+    private static final long CLOSED = -3;
+
+    private final PostRepository postRepository;
+    private final Map<Long, Set<Subscriber>> postSubscribers = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Subscriber>> userSubscribers = new ConcurrentHashMap<>();
+    // პოსტის ავტორი არ იცვლება, ამიტომ ქეში ინვალიდაციას მხოლოდ წაშლისას საჭიროებს
+    private final Cache<Long, Long> postOwners;
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ThreadPoolExecutor dispatcher;
+    private final AtomicInteger standInThreads = new AtomicInteger();
+    private final int bufferSize;
+    private final int coalesceAfter;
+    private final int maxSubscribers;
+    private final long emitterTimeoutMs;
+    private final long sendTimeoutNanos;
+    private final int maxStandInThreads;
+    private final long clockOrigin = System.nanoTime();
+
+    public ActivityHub(PostRepository postRepository,
+                       @Value("${activity.buffer-size:64}") int bufferSize,
+                       @Value("${activity.max-subscribers:50000}") int maxSubscribers,
+                       @Value("${activity.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+                       @Value("${activity.dispatch-threads:4}") int dispatchThreads,
+                       @Value("${activity.coalesce-after:16}") int coalesceAfter,
+                       @Value("${activity.send-timeout:5s}") Duration sendTimeout,
+                       @Value("${activity.max-stand-in-threads:32}") int maxStandInThreads) {
+        this.postRepository = postRepository;
+        this.bufferSize = bufferSize;
+        this.coalesceAfter = coalesceAfter;
+        this.maxSubscribers = maxSubscribers;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.maxStandInThreads = maxStandInThreads;
+        this.postOwners = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .build();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.dispatcher = new ThreadPoolExecutor(dispatchThreads, dispatchThreads,
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "activity-dispatch-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public SseEmitter subscribeToPost(Long postId) {
+        if (!postRepository.existsById(postId)) {
+            throw new PostException("Post with id " + postId + " does not exist");
+        }
+        return subscribe(postSubscribers, postId);
+    }
+
+    public SseEmitter subscribeToUser(Long userId) {
+        return subscribe(userSubscribers, userId);
+    }
+
+    public void publish(ActivityEvent event) {
+        publish(event, null);
+    }
+
+    // ownerId შეიძლება null იყოს; მაშინ ავტორს dispatcher-ის ნაკადში ვეძებთ და მხოლოდ თუ ვინმე უსმენს
+    public void publish(ActivityEvent event, Long ownerId) {
+        deliver(postSubscribers.get(event.getPostId()), event);
+
+        if (userSubscribers.isEmpty()) {
+            return;
+        }
+        if (ownerId != null) {
+            deliverToOwner(ownerId, event);
+        } else {
+            dispatcher.execute(() -> {
+                Long owner = postOwners.get(event.getPostId(),
+                        id -> postRepository.findPosterIdById(id).orElse(null));
+                if (owner != null) {
+                    deliverToOwner(owner, event);
+                }
+            });
+        }
+    }
+
+    public void postDeleted(Long postId) {
+        postOwners.invalidate(postId);
+        Set<Subscriber> subscribers = postSubscribers.get(postId);
+        if (subscribers != null) {
+            // წაშლას ავტორი თავად აკეთებს, ამიტომ მხოლოდ პოსტის გამომწერებს ვატყობინებთ
+            ActivityEvent event = ActivityEvent.postDeleted(postId);
+            subscribers.forEach(s -> {
+                s.offer(event);
+                s.completeAfterDrain();
+            });
+        }
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @Scheduled(fixedDelayString = "${activity.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        // proxy-ები უმოქმედო კავშირებს არ წყვეტენ, გაწყვეტილ კლიენტებს კი ასე ვპოულობთ
+        postSubscribers.values().forEach(set -> set.forEach(Subscriber::heartbeat));
+        userSubscribers.values().forEach(set -> set.forEach(Subscriber::heartbeat));
+    }
+
+    @Scheduled(fixedDelayString = "${activity.stall-check-interval-ms:1000}")
+    public void checkStalledSends() {
+        long now = clock();
+        postSubscribers.values().forEach(set -> set.forEach(s -> s.checkStalled(now)));
+        userSubscribers.values().forEach(set -> set.forEach(s -> s.checkStalled(now)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        postSubscribers.values().forEach(set -> set.forEach(s -> s.emitter.complete()));
+        userSubscribers.values().forEach(set -> set.forEach(s -> s.emitter.complete()));
+    }
+
+    private void deliverToOwner(Long ownerId, ActivityEvent event) {
+        if (!ownerId.equals(event.getActorId())) {
+            deliver(userSubscribers.get(ownerId), event);
+        }
+    }
+
+    private void deliver(Set<Subscriber> subscribers, ActivityEvent event) {
+        if (subscribers != null) {
+            subscribers.forEach(s -> s.offer(event));
+        }
+    }
+
+    private SseEmitter subscribe(Map<Long, Set<Subscriber>> registry, Long key) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new OverloadException("Too many event subscribers, try again later", 5);
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, () -> {
+            registry.computeIfPresent(key, (k, set) -> {
+                set.removeIf(s -> s.emitter == emitter);
+                return set.isEmpty() ? null : set;
+            });
+        });
+        registry.compute(key, (k, set) -> {
+            Set<Subscriber> subscribers = set == null ? ConcurrentHashMap.newKeySet() : set;
+            subscribers.add(subscriber);
+            return subscribers;
+        });
+
+        emitter.onCompletion(subscriber::unregister);
+        emitter.onTimeout(subscriber::unregister);
+        emitter.onError(e -> subscriber.unregister());
+        return emitter;
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Runnable removal;
+        private final ArrayDeque<ActivityEvent> queue = new ArrayDeque<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean registered = new AtomicBoolean(true);
+        private final AtomicLong sendState = new AtomicLong(IDLE);
+        private int dropped;
+        private boolean heartbeatDue;
+        private boolean completeWhenDrained;
+
+        private Subscriber(SseEmitter emitter, Runnable removal) {
+            this.emitter = emitter;
+            this.removal = removal;
+        }
+
+        void offer(ActivityEvent event) {
+            synchronized (this) {
+                if (!registered.get()) {
+                    return;
+                }
+                if (event.getType().isCoalescing() && queue.size() >= coalesceAfter) {
+                    event = mergeQueuedLikes(event);
+                }
+                if (queue.size() >= bufferSize) {
+                    queue.pollFirst();
+                    dropped++;
+                }
+                queue.addLast(event);
+            }
+            schedule();
+        }
+
+        // რიგში მდგომ ამავე პოსტის ლაიქებს ამოვიღებთ და ახალთან ერთად ერთ მოვლენად ვაჯამებთ
+        private ActivityEvent mergeQueuedLikes(ActivityEvent event) {
+            int added = addedCount(event);
+            int removed = removedCount(event);
+            boolean merged = false;
+            Iterator<ActivityEvent> it = queue.iterator();
+            while (it.hasNext()) {
+                ActivityEvent queued = it.next();
+                if (queued.getType().isCoalescing() && queued.getPostId().equals(event.getPostId())) {
+                    added += addedCount(queued);
+                    removed += removedCount(queued);
+                    it.remove();
+                    merged = true;
+                }
+            }
+            return merged ? ActivityEvent.likesChanged(event.getPostId(), added, removed, event.getAt()) : event;
+        }
+
+        void heartbeat() {
+            synchronized (this) {
+                heartbeatDue = true;
+            }
+            schedule();
+        }
+
+        void completeAfterDrain() {
+            synchronized (this) {
+                completeWhenDrained = true;
+            }
+            schedule();
+        }
+
+        // send-ს თვითონ ვერ შევწყვეტთ (emitter-ის lock-ს ის იკავებს), ამიტომ კლიენტს ვთიშავთ
+        // და pool-ს დროებით ნაკადს ვუმატებთ, სანამ გაჭედილი send Tomcat-ის write timeout-ით არ დაბრუნდება
+        void checkStalled(long now) {
+            long started = sendState.get();
+            if (started <= IDLE || now - started < sendTimeoutNanos) {
+                return;
+            }
+            // ნაკადს CAS-მდე ვამატებთ: თუ CAS მოიგო, send-ის დაბრუნება მას აუცილებლად მოხსნის
+            boolean standIn = standInThreads.incrementAndGet() <= maxStandInThreads;
+            if (standIn) {
+                resizeDispatcher(1);
+            } else {
+                standInThreads.decrementAndGet();
+            }
+            if (!sendState.compareAndSet(started, standIn ? STALLED_WITH_STAND_IN : STALLED)) {
+                // send-ი ამასობაში დაბრუნდა
+                if (standIn) {
+                    releaseStandIn();
+                }
+                return;
+            }
+            unregister();
+            synchronized (this) {
+                queue.clear();
+                dropped = 0;
+            }
+        }
+
+        void unregister() {
+            if (registered.compareAndSet(true, false)) {
+                removal.run();
+                subscriberCount.decrementAndGet();
+            }
+        }
+
+        private void schedule() {
+            if (registered.get() && scheduled.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this::drain);
+                } catch (RuntimeException e) {
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) throws IOException {
+            long started = clock();
+            if (!sendState.compareAndSet(IDLE, started)) {
+                throw new IOException("Event send timed out");
+            }
+            try {
+                emitter.send(event);
+            } finally {
+                // CAS-ის წაგება ნიშნავს, რომ checkStalled-მა ეს send-ი გაჭედილად მონიშნა
+                if (!sendState.compareAndSet(started, IDLE)
+                        && sendState.getAndSet(CLOSED) == STALLED_WITH_STAND_IN) {
+                    releaseStandIn();
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    ActivityEvent next;
+                    int lost;
+                    boolean ping;
+                    boolean complete;
+                    synchronized (this) {
+                        next = queue.pollFirst();
+                        lost = dropped;
+                        dropped = 0;
+                        ping = heartbeatDue && next == null;
+                        heartbeatDue = false;
+                        complete = completeWhenDrained && next == null;
+                    }
+                    if (sendState.get() == CLOSED) {
+                        throw new IOException("Event send timed out");
+                    }
+                    if (lost > 0) {
+                        send(SseEmitter.event().name("overflow").data(Map.of("dropped", lost)));
+                    }
+                    if (next != null) {
+                        send(SseEmitter.event()
+                                .name(next.getType().eventName())
+                                .data(next, MediaType.APPLICATION_JSON));
+                        continue;
+                    }
+                    if (ping) {
+                        send(SseEmitter.event().comment("ping"));
+                    }
+                    if (complete) {
+                        emitter.complete();
+                        unregister();
+                    }
+                    break;
+                }
+            } catch (IOException | IllegalStateException e) {
+                // კლიენტი გაითიშა
+                unregister();
+                emitter.completeWithError(e);
+            } finally {
+                scheduled.set(false);
+            }
+            // drain-ის დასრულებამდე ჩამატებული მოვლენა არ უნდა დაიკარგოს
+            boolean more;
+            synchronized (this) {
+                more = !queue.isEmpty() || dropped > 0;
+            }
+            if (more) {
+                schedule();
+            }
+        }
+    }
+
+    // nanoTime შეიძლება უარყოფითი იყოს; ეს მნიშვნელობა ყოველთვის დადებითია
+    private long clock() {
+        return System.nanoTime() - clockOrigin + 1;
+    }
+
+    private void releaseStandIn() {
+        standInThreads.decrementAndGet();
+        resizeDispatcher(-1);
+    }
+
+    private synchronized void resizeDispatcher(int delta) {
+        // ზრდისას ჯერ maximum, შემცირებისას ჯერ core, რომ core > maximum არ მოხდეს
+        if (delta > 0) {
+            dispatcher.setMaximumPoolSize(dispatcher.getMaximumPoolSize() + delta);
+            dispatcher.setCorePoolSize(dispatcher.getCorePoolSize() + delta);
+        } else {
+            dispatcher.setCorePoolSize(dispatcher.getCorePoolSize() + delta);
+            dispatcher.setMaximumPoolSize(dispatcher.getMaximumPoolSize() + delta);
+        }
+    }
+
+    private static int addedCount(ActivityEvent event) {
+        return switch (event.getType()) {
+            case LIKE_ADDED -> 1;
+            case LIKES_CHANGED -> event.getAdded();
+            default -> 0;
+        };
+    }
+
+    private static int removedCount(ActivityEvent event) {
+        return switch (event.getType()) {
+            case LIKE_REMOVED -> 1;
+            case LIKES_CHANGED -> event.getRemoved();
+            default -> 0;
+        };
+    }
+}
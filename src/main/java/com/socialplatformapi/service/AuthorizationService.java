@@ -1,24 +1,24 @@
 package com.socialplatformapi.service;
 
-import com.socialplatformapi.exception.auth.AuthenticationException;
-import com.socialplatformapi.model.User;
-import jakarta.servlet.http.HttpServletRequest;
+import com.socialplatformapi.security.AuthenticatedUser;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+
 @AllArgsConstructor
 @Service
 public class AuthorizationService {
     private final SessionService sessionService;
+    private final UserIdentityCache userIdentityCache;
 
-    public User getLoggedInUser(HttpServletRequest request) {
-        String token = request.getHeader("X-Session-Token");
-
-        if (token == null) {
-            throw new AuthenticationException("Missing session token");
-        }
-
-        return sessionService.getUserByToken(token)
-                .orElseThrow(() -> new AuthenticationException("Invalid or expired session token"));
+    public Optional<AuthenticatedUser> authenticate(String token) {
+        return sessionService.findSession(token).flatMap(session -> sessionService.isSelfContained()
+                // JWT-ის username ხელმოწერილია; ბაზა მხოლოდ იმას ამოწმებს, ხომ არ წაიშალა მომხმარებელი
+                ? userIdentityCache.find(session.userId())
+                        .map(user -> new AuthenticatedUser(session.userId(), session.username()))
+                // სესია იმავე id-ის სხვა მომხმარებელს (მაგ. ხელახლა შექმნილ ბაზაში) არ უნდა მიეკუთვნოს
+                : userIdentityCache.find(session.userId())
+                        .filter(user -> user.getUsername().equals(session.username())));
     }
 }
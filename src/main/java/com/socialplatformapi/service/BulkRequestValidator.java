@@ -0,0 +1,51 @@
+package com.socialplatformapi.service;
+
+import com.socialplatformapi.exception.bulk.BulkRequestException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bean validation for bulk endpoints, item by item: one invalid entry is reported
+ * in its own result instead of rejecting the whole request.
+ */
+@Component
+public class BulkRequestValidator {
+
+    private final Validator validator;
+    private final int maxItems;
+
+    public BulkRequestValidator(Validator validator, @Value("${bulk.max-items:1000}") int maxItems) {
+        this.validator = validator;
+        this.maxItems = maxItems;
+    }
+
+    public void checkSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new BulkRequestException("Bulk request must contain at least one item");
+        }
+        if (items.size() > maxItems) {
+            throw new BulkRequestException("Bulk request can contain at most " + maxItems + " items");
+        }
+    }
+
+    // null თუ ელემენტი ვალიდურია
+    public String violations(Object item) {
+        if (item == null) {
+            return "item must not be null";
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -1,9 +1,16 @@
 package com.socialplatformapi.service;
 
+import com.socialplatformapi.dto.activity.ActivityEvent;
+import com.socialplatformapi.dto.activity.ActivityType;
+import com.socialplatformapi.dto.bulk.BulkItemResult;
+import com.socialplatformapi.dto.bulk.BulkResult;
+import com.socialplatformapi.dto.comment.CommentOwnership;
 import com.socialplatformapi.dto.comment.CommentRequest;
 import com.socialplatformapi.dto.comment.CommentResponse;
 import com.socialplatformapi.dto.comment.CommentSummary;
 import com.socialplatformapi.dto.comment.CommentUpdateRequest;
+import com.socialplatformapi.dto.comment.CommentView;
+import com.socialplatformapi.dto.comment.PostCommentSummary;
 import com.socialplatformapi.exception.comment.CommentException;
 import com.socialplatformapi.exception.post.PostException;
 import com.socialplatformapi.model.Comment;
@@ -11,20 +18,37 @@ import com.socialplatformapi.model.Post;
 import com.socialplatformapi.model.User;
 import com.socialplatformapi.repository.CommentRepository;
 import com.socialplatformapi.repository.PostRepository;
+import com.socialplatformapi.repository.UserRepository;
+import com.socialplatformapi.security.AuthenticatedUser;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
 public class CommentService {
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
-
-    public CommentResponse addComment(CommentRequest request, User user) {
+    private final UserRepository userRepository;
+    private final PostCounterService postCounterService;
+    private final PostViewCache postViewCache;
+    private final SearchService searchService;
+    private final TrendingService trendingService;
+    private final ActivityHub activityHub;
+    private final BulkRequestValidator bulkRequestValidator;
+
+    public CommentResponse addComment(CommentRequest request, AuthenticatedUser user) {
         Post post = postRepository.findById(request.getPostId())
                 .orElseThrow(() -> new PostException("Post with id " + request.getPostId() + " does not exist"));
 
@@ -32,40 +56,121 @@ public class CommentService {
         comment.setCommentText(request.getText());
         comment.setCommentDate(LocalDateTime.now());
         comment.setPost(post);
-        comment.setCommenter(user);
+        comment.setCommenter(userRepository.getReferenceById(user.getId()));
 
         Comment saved = commentRepository.save(comment);
+        postCounterService.commentAdded(post.getId());
+        postViewCache.invalidate(post.getId());
+        searchService.commentSaved(saved.getId(), saved.getCommentText());
+        trendingService.record(post.getId());
+        activityHub.publish(ActivityEvent.commentEvent(ActivityType.COMMENT_ADDED, saved, user.getUsername()),
+                post.getPoster().getId());
+
+        return CommentResponse.commentToDto(saved, user.getUsername());
+    }
+
+    public BulkResult addComments(List<CommentRequest> requests, AuthenticatedUser user) {
+        long start = System.nanoTime();
+        bulkRequestValidator.checkSize(requests);
+
+        List<BulkItemResult> results = new ArrayList<>(requests.size());
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String error = bulkRequestValidator.violations(requests.get(i));
+            if (error != null) {
+                results.add(BulkItemResult.failed(i, error));
+            } else {
+                valid.add(i);
+            }
+        }
+
+        // ყველა პოსტი ერთი query-თ, ავტორებთან ერთად
+        Map<Long, Post> posts = postRepository.findAllByIdIn(valid.stream()
+                        .map(i -> requests.get(i).getPostId())
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+
+        List<Integer> indexes = new ArrayList<>();
+        List<Comment> comments = new ArrayList<>();
+        User commenter = userRepository.getReferenceById(user.getId());
+        for (Integer i : valid) {
+            CommentRequest request = requests.get(i);
+            Post post = posts.get(request.getPostId());
+            if (post == null) {
+                results.add(BulkItemResult.failed(i, "Post with id " + request.getPostId() + " does not exist"));
+                continue;
+            }
+            Comment comment = new Comment();
+            comment.setCommentText(request.getText());
+            comment.setCommentDate(LocalDateTime.now());
+            comment.setPost(post);
+            comment.setCommenter(commenter);
+            comments.add(comment);
+            indexes.add(i);
+        }
 
-        return CommentResponse.commentToDto(saved);
+        List<Comment> saved = commentRepository.saveAll(comments);
+        for (int i = 0; i < saved.size(); i++) {
+            Comment comment = saved.get(i);
+            Long postId = comment.getPost().getId();
+            results.add(BulkItemResult.created(indexes.get(i), comment.getId()));
+            postCounterService.commentAdded(postId);
+            searchService.commentSaved(comment.getId(), comment.getCommentText());
+            trendingService.record(postId);
+            activityHub.publish(ActivityEvent.commentEvent(ActivityType.COMMENT_ADDED, comment, user.getUsername()),
+                    comment.getPost().getPoster().getId());
+        }
+        saved.stream()
+                .map(c -> c.getPost().getId())
+                .distinct()
+                .forEach(postViewCache::invalidate);
+        return BulkResult.of(results, start);
     }
 
-    public CommentResponse updateComment(Long commentId, CommentUpdateRequest request, User user) {
+    public CommentResponse updateComment(Long commentId, CommentUpdateRequest request, AuthenticatedUser user) {
         Comment comment = getComment(commentId, user);
+        // წაშლილი პოსტის proxy-ს ინიციალიზაცია EntityNotFoundException-ს ისვრის, ამიტომ
+        // პოსტს @SQLRestriction-იანი query-ით ვამოწმებთ და მხოლოდ id-ს ვიყენებთ
+        Long postId = comment.getPost().getId();
+        Long posterId = postRepository.findPosterIdById(postId)
+                .orElseThrow(() -> new PostException("Post with id " + postId + " does not exist"));
 
         comment.setCommentText(request.getText());
         comment.setCommentDate(LocalDateTime.now());
         commentRepository.save(comment);
+        postViewCache.invalidate(postId);
+        searchService.commentSaved(comment.getId(), comment.getCommentText());
+        activityHub.publish(ActivityEvent.commentEvent(ActivityType.COMMENT_UPDATED, comment, user.getUsername()),
+                posterId);
 
-        return CommentResponse.commentToDto(comment);
+        return CommentResponse.commentToDto(comment, user.getUsername());
     }
 
-    public void deleteComment(Long commentId, User user) {
-        Comment comment = commentRepository.findById(commentId)
+    public void deleteComment(Long commentId, AuthenticatedUser user) {
+        CommentOwnership comment = commentRepository.findOwnershipById(commentId)
                 .orElseThrow(() -> new CommentException("comment with id " + commentId + " not found"));
 
-        boolean isAuthorOfComment = comment.getCommenter().getId().equals(user.getId());
-        boolean isPostOwner = comment.getPost().getPoster().getId().equals(user.getId());
+        boolean isAuthorOfComment = comment.getCommenterId().equals(user.getId());
+        boolean isPostOwner = comment.getPosterId().equals(user.getId());
 
         if (!isAuthorOfComment && !isPostOwner) {
             throw new PostException("You are not the author of this post");
         }
 
-        comment.getPost().getComments().remove(comment);
-
-        commentRepository.delete(comment);
+        commentRepository.deleteCommentById(commentId);
+        searchService.commentDeleted(commentId);
+        if (comment.isPostDeleted()) {
+            // პოსტი უკვე დამალულია: მრიცხველი, ქეში და გამომწერები წაშლისას გასუფთავდა
+            return;
+        }
+        postCounterService.commentRemoved(comment.getPostId());
+        postViewCache.invalidate(comment.getPostId());
+        activityHub.publish(ActivityEvent.commentDeleted(comment.getPostId(), commentId,
+                comment.getCommenterUsername(), comment.getCommenterId()), comment.getPosterId());
     }
 
-    public Comment getComment(Long commentId, User user) {
+    public Comment getComment(Long commentId, AuthenticatedUser user) {
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new CommentException("comment with id " + commentId + " not found"));
 
@@ -81,10 +186,51 @@ public class CommentService {
                 .toList();
     }
 
+    public Map<Long, List<CommentSummary>> getTopCommentsByPosts(Collection<Long> postIds, int limit) {
+        if (postIds.isEmpty()) {
+            return Map.of();
+        }
+        return commentRepository.findTopByPostIds(postIds, limit)
+                .stream()
+                .collect(Collectors.groupingBy(PostCommentSummary::getPostId,
+                        Collectors.mapping(c -> (CommentSummary) c, Collectors.toList())));
+    }
+
+    public List<CommentSummary> getCommentsByPostAfter(Long postId, Long afterId, int size) {
+        return commentRepository.findAllByPostIdAndIdGreaterThan(postId, afterId,
+                PageRequest.of(0, size, Sort.Direction.ASC, "id"));
+    }
+
+    public List<CommentResponse> getCommentsByUserAfter(String username, Long afterId, int size) {
+        return commentRepository.findViewsByCommenterUsernameAfter(username, afterId,
+                        PageRequest.of(0, size, Sort.Direction.ASC, "id"))
+                .stream()
+                .map(CommentResponse::commentViewToDto)
+                .toList();
+    }
+
+    public List<CommentResponse> searchComments(String query, int limit) {
+        List<Long> ids = searchService.searchComments(query, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, CommentView> comments = commentRepository.findViewsByIdIn(ids)
+                .stream()
+                .collect(Collectors.toMap(CommentView::getId, Function.identity()));
+        if (comments.size() < ids.size()) {
+            searchService.forgetComments(ids.stream().filter(id -> !comments.containsKey(id)).toList());
+        }
+        return ids.stream()
+                .map(comments::get)
+                .filter(Objects::nonNull)
+                .map(CommentResponse::commentViewToDto)
+                .toList();
+    }
+
     public List<CommentResponse> getCommentsByUser(String username, Pageable pageable) {
-        return commentRepository.findAllByCommenterUsername(username, pageable)
+        return commentRepository.findViewsByCommenterUsername(username, pageable)
                 .stream()
-                .map(CommentResponse::commentToDto)
+                .map(CommentResponse::commentViewToDto)
                 .toList();
     }
 
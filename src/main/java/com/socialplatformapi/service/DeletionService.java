@@ -0,0 +1,225 @@
+package com.socialplatformapi.service;
+
+import com.socialplatformapi.repository.FollowRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deletes posts and users with set-based statements instead of entity cascades.
+ * A post is first tombstoned (posts.deleted_at), which hides it from every entity
+ * query at once; its comments and likes are then removed in bounded chunks and the
+ * row itself last. With deletion.async the purge runs in the background, and
+ * tombstones left by a crash are purged again on the next startup.
+ */
+@Slf4j
+@Service
+public class DeletionService {
+
+    private static final String TOMBSTONE_POST_SQL =
+            "UPDATE posts SET deleted_at = ? WHERE id = ? AND deleted_at IS NULL";
+    private static final String TOMBSTONE_USER_POSTS_SQL =
+            "UPDATE posts SET deleted_at = ? WHERE poster_id = ? AND deleted_at IS NULL";
+    private static final String USER_POST_IDS_SQL = "SELECT id FROM posts WHERE poster_id = ?";
+    private static final String TOMBSTONED_POST_IDS_SQL = "SELECT id FROM posts WHERE deleted_at IS NOT NULL";
+
+    private static final String DELETE_POST_COMMENTS_SQL =
+            "DELETE FROM comments WHERE id IN (SELECT id FROM comments WHERE post_id = ? LIMIT ?) RETURNING id";
+    private static final String DELETE_POST_LIKES_SQL =
+            "DELETE FROM likes WHERE id IN (SELECT id FROM likes WHERE post_id = ? LIMIT ?)";
+    private static final String DELETE_POST_SQL = "DELETE FROM posts WHERE id = ?";
+
+    private static final String DELETE_USER_COMMENTS_SQL =
+            "DELETE FROM comments WHERE id IN (SELECT id FROM comments WHERE commenter_id = ? LIMIT ?) RETURNING id, post_id";
+    private static final String DELETE_USER_LIKES_SQL =
+            "DELETE FROM likes WHERE id IN (SELECT id FROM likes WHERE user_id = ? LIMIT ?) RETURNING post_id";
+    private static final String DELETE_USER_FOLLOWS_SQL = "DELETE FROM follows WHERE follower_id = ? OR followee_id = ?";
+    private static final String DELETE_USER_SQL = "DELETE FROM users WHERE id = ?";
+
+    private static final int MAX_PURGE_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final FollowRepository followRepository;
+    private final PostCounterService postCounterService;
+    private final LikerIndex likerIndex;
+    private final PostViewCache postViewCache;
+    private final SearchService searchService;
+    private final TimelineService timelineService;
+    private final ActivityHub activityHub;
+    private final UserIdentityCache userIdentityCache;
+    private final LikeWriteBuffer likeWriteBuffer;
+    private final boolean async;
+    private final int chunkSize;
+    private final ExecutorService purger = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "post-purger");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public DeletionService(JdbcTemplate jdbcTemplate,
+                           FollowRepository followRepository,
+                           PostCounterService postCounterService,
+                           LikerIndex likerIndex,
+                           PostViewCache postViewCache,
+                           SearchService searchService,
+                           TimelineService timelineService,
+                           ActivityHub activityHub,
+                           UserIdentityCache userIdentityCache,
+                           LikeWriteBuffer likeWriteBuffer,
+                           @Value("${deletion.async:true}") boolean async,
+                           @Value("${deletion.chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.followRepository = followRepository;
+        this.postCounterService = postCounterService;
+        this.likerIndex = likerIndex;
+        this.postViewCache = postViewCache;
+        this.searchService = searchService;
+        this.timelineService = timelineService;
+        this.activityHub = activityHub;
+        this.userIdentityCache = userIdentityCache;
+        this.likeWriteBuffer = likeWriteBuffer;
+        this.async = async;
+        this.chunkSize = chunkSize;
+    }
+
+    public void deletePost(Long postId) {
+        jdbcTemplate.update(TOMBSTONE_POST_SQL, Timestamp.valueOf(LocalDateTime.now()), postId);
+        postHidden(postId);
+        if (async) {
+            purger.execute(() -> purgePostQuietly(postId));
+        } else {
+            purgePost(postId);
+        }
+    }
+
+    /**
+     * Removes the user's posts, likes, comments and follows, then the user row itself.
+     * The steps are not one transaction: every statement deletes at most one chunk and
+     * commits on its own, and each only removes what is still there. If a step fails,
+     * the user row is still present and calling this again resumes where it stopped.
+     * Posts that were already tombstoned are also purged again on the next startup.
+     */
+    public void deleteUser(Long userId) {
+        discardBufferedLikes(userId);
+        jdbcTemplate.update(TOMBSTONE_USER_POSTS_SQL, Timestamp.valueOf(LocalDateTime.now()), userId);
+        for (Long postId : jdbcTemplate.queryForList(USER_POST_IDS_SQL, Long.class, userId)) {
+            postHidden(postId);
+            purgePost(postId);
+        }
+
+        List<Long> likedPostIds;
+        while (!(likedPostIds = jdbcTemplate.queryForList(DELETE_USER_LIKES_SQL, Long.class, userId, chunkSize)).isEmpty()) {
+            for (Long postId : likedPostIds) {
+                postCounterService.likeRemoved(postId);
+                likerIndex.evict(postId);
+                postViewCache.invalidate(postId);
+            }
+        }
+
+        List<long[]> comments;
+        while (!(comments = jdbcTemplate.query(DELETE_USER_COMMENTS_SQL,
+                (rs, i) -> new long[]{rs.getLong(1), rs.getLong(2)}, userId, chunkSize)).isEmpty()) {
+            for (long[] comment : comments) {
+                searchService.commentDeleted(comment[0]);
+                postCounterService.commentRemoved(comment[1]);
+                postViewCache.invalidate(comment[1]);
+            }
+        }
+
+        List<Long> followerIds = followRepository.findFollowerIds(userId);
+        List<Long> followeeIds = followRepository.findFolloweeIds(userId);
+        jdbcTemplate.update(DELETE_USER_FOLLOWS_SQL, userId, userId);
+        followerIds.forEach(timelineService::evict);
+        followeeIds.forEach(followeeId -> timelineService.onFollowersChanged(followeeId, -1));
+        timelineService.evict(userId);
+
+        jdbcTemplate.update(DELETE_USER_SQL, userId);
+        // ამ მომხმარებლის ცოცხალი ტოკენები შემდეგივე მოთხოვნაზე უარყოფილი იქნება
+        userIdentityCache.invalidate(userId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingPurges() {
+        List<Long> tombstoned = jdbcTemplate.queryForList(TOMBSTONED_POST_IDS_SQL, Long.class);
+        if (!tombstoned.isEmpty()) {
+            log.info("Resuming purge of {} deleted posts", tombstoned.size());
+            tombstoned.forEach(postId -> purger.execute(() -> purgePostQuietly(postId)));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        purger.shutdown();
+        // დაუმთავრებელი წაშლა tombstone-ად რჩება და შემდეგ გაშვებაზე გაგრძელდება
+        if (!purger.awaitTermination(10, TimeUnit.SECONDS)) {
+            purger.shutdownNow();
+        }
+    }
+
+    // ჩაუწერელი მოწონებები წაშლილი მომხმარებლის FK-ზე ჩაიჭრებოდა; მრიცხველები offer-ისას შეიცვალა
+    private void discardBufferedLikes(Long userId) {
+        for (LikeWriteBuffer.Intent intent : likeWriteBuffer.discardUser(userId)) {
+            if (intent.like()) {
+                postCounterService.likeRemoved(intent.postId());
+            } else {
+                // სტრიქონი ბაზაშია და ქვემოთ წაშლისას მრიცხველი კიდევ ერთხელ შემცირდება
+                postCounterService.likeAdded(intent.postId());
+            }
+            likerIndex.evict(intent.postId());
+            postViewCache.invalidate(intent.postId());
+        }
+    }
+
+    private void postHidden(Long postId) {
+        postCounterService.forget(postId);
+        likerIndex.evict(postId);
+        postViewCache.invalidate(postId);
+        searchService.postDeleted(postId);
+        activityHub.postDeleted(postId);
+    }
+
+    private void purgePostQuietly(Long postId) {
+        try {
+            purgePost(postId);
+        } catch (Exception e) {
+            log.error("Error purging deleted post {}, will retry on next startup: {}", postId, e.getMessage(), e);
+        }
+    }
+
+    private void purgePost(Long postId) {
+        for (int attempt = 1; ; attempt++) {
+            List<Long> commentIds;
+            while (!(commentIds = jdbcTemplate.queryForList(DELETE_POST_COMMENTS_SQL, Long.class, postId, chunkSize)).isEmpty()) {
+                searchService.forgetComments(commentIds);
+            }
+            // ყოველი chunk ცალკე commit-ია, ასე რომ ცხრილი დიდხანს არ იბლოკება
+            int deleted;
+            do {
+                deleted = jdbcTemplate.update(DELETE_POST_LIKES_SQL, postId, chunkSize);
+            } while (deleted > 0);
+            try {
+                jdbcTemplate.update(DELETE_POST_SQL, postId);
+                break;
+            } catch (DataIntegrityViolationException e) {
+                // tombstone-მდე დაწყებული ჩანაწერი ბოლო chunk-ის შემდეგ ჩაიწერა
+                if (attempt == MAX_PURGE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+        postCounterService.forget(postId);
+        likerIndex.evict(postId);
+    }
+}
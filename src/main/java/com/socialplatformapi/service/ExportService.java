@@ -0,0 +1,90 @@
+package com.socialplatformapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.socialplatformapi.dto.comment.CommentResponse;
+import com.socialplatformapi.dto.post.PostExport;
+import com.socialplatformapi.model.Comment;
+import com.socialplatformapi.model.Post;
+import com.socialplatformapi.repository.CommentRepository;
+import com.socialplatformapi.repository.PostRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * NDJSON export of a user's posts and comments. Rows come from a server-side cursor
+ * and are written one by one; the persistence context is cleared every
+ * export.clear-every rows so heap stays flat however many rows the user has.
+ */
+@Service
+public class ExportService {
+
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter writer;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int clearEvery;
+
+    public ExportService(PostRepository postRepository,
+                         CommentRepository commentRepository,
+                         EntityManager entityManager,
+                         ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${export.clear-every:500}") int clearEvery) {
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.entityManager = entityManager;
+        this.writer = objectMapper.writer();
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.clearEvery = clearEvery;
+    }
+
+    public void exportPosts(String username, OutputStream out) {
+        // სტრიმი მხოლოდ ტრანზაქციის შიგნით მუშაობს (Postgres cursor)
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Post> posts = postRepository.streamAllByPosterUsername(username)) {
+                write(posts, PostExport::postToExport, out);
+            }
+        });
+    }
+
+    public void exportComments(String username, OutputStream out) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Comment> comments = commentRepository.streamAllByCommenterUsername(username)) {
+                write(comments, CommentResponse::commentToDto, out);
+            }
+        });
+    }
+
+    private <T> void write(Stream<T> rows, Function<T, ?> toDto, OutputStream out) {
+        try {
+            OutputStream buffered = new BufferedOutputStream(out);
+            Iterator<T> iterator = rows.iterator();
+            int written = 0;
+            while (iterator.hasNext()) {
+                buffered.write(writer.writeValueAsBytes(toDto.apply(iterator.next())));
+                buffered.write('\n');
+                if (++written % clearEvery == 0) {
+                    entityManager.clear();
+                    buffered.flush();
+                }
+            }
+            buffered.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.socialplatformapi.service;
+
+import com.socialplatformapi.exception.follow.FollowException;
+import com.socialplatformapi.model.Follow;
+import com.socialplatformapi.model.User;
+import com.socialplatformapi.repository.FollowRepository;
+import com.socialplatformapi.repository.UserRepository;
+import com.socialplatformapi.security.AuthenticatedUser;
+import lombok.AllArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+@Service
+@AllArgsConstructor
+public class FollowService {
+    private final FollowRepository followRepository;
+    private final UserRepository userRepository;
+    private final TimelineService timelineService;
+
+    public void follow(String username, AuthenticatedUser user) {
+        User followee = getFollowee(username, user);
+
+        if (followRepository.existsByFollowerIdAndFolloweeId(user.getId(), followee.getId())) {
+            throw new FollowException("User " + user.getUsername() + " already follows " + username);
+        }
+
+        Follow follow = new Follow();
+        follow.setFollower(userRepository.getReferenceById(user.getId()));
+        follow.setFollowee(followee);
+        follow.setFollowedAt(LocalDateTime.now());
+        try {
+            followRepository.save(follow);
+        } catch (DataIntegrityViolationException e) {
+            throw new FollowException("User " + user.getUsername() + " already follows " + username);
+        }
+        timelineService.evict(user.getId());
+        timelineService.onFollowersChanged(followee.getId(), 1);
+    }
+
+    public void unfollow(String username, AuthenticatedUser user) {
+        User followee = getFollowee(username, user);
+
+        if (followRepository.deleteByFollowerIdAndFolloweeId(user.getId(), followee.getId()) == 0) {
+            throw new FollowException("User " + user.getUsername() + " does not follow " + username);
+        }
+        timelineService.evict(user.getId());
+        timelineService.onFollowersChanged(followee.getId(), -1);
+    }
+
+    private User getFollowee(String username, AuthenticatedUser user) {
+        User followee = userRepository.findByUsername(username)
+                .orElseThrow(() -> new FollowException("User " + username + " does not exist"));
+
+        if (followee.getId().equals(user.getId())) {
+            throw new FollowException("Users cannot follow themselves");
+        }
+        return followee;
+    }
+}
@@ -0,0 +1,246 @@
+package com.socialplatformapi.service;
+
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index of short texts: term -> compressed posting list of document ids.
+ * A forward map (id -> terms) lets updates and deletes remove stale postings.
+ * Documents are ranked by the summed idf of the query terms they contain, newer
+ * documents first on ties. A segment file records the generation of the table it
+ * was built from and when it was written, so a stale or foreign segment is never
+ * mistaken for the current one.
+ */
+class FullTextIndex {
+
+    private static final int SEGMENT_MAGIC = 0x53504658;
+    private static final int SEGMENT_VERSION = 2;
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Map<String, Roaring64Bitmap> postings = new HashMap<>();
+    private final Map<Long, String[]> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long maxDocId;
+    private long version;
+    private volatile long persistedVersion;
+
+    static Set<String> tokenize(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String token : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (token.length() >= 2) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+
+    void put(long id, String text) {
+        String[] terms = tokenize(text).toArray(String[]::new);
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            for (String term : terms) {
+                postings.computeIfAbsent(term, t -> new Roaring64Bitmap()).addLong(id);
+            }
+            documents.put(id, terms);
+            maxDocId = Math.max(maxDocId, id);
+            version++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    List<Long> search(String query, int limit) {
+        Set<String> terms = tokenize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Map<Long, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int total = Math.max(1, documents.size());
+            for (String term : terms) {
+                Roaring64Bitmap posting = postings.get(term);
+                if (posting == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (double) total / posting.getLongCardinality());
+                LongIterator ids = posting.getLongIterator();
+                while (ids.hasNext()) {
+                    scores.merge(ids.next(), idf, Double::sum);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Comparator<Map.Entry<Long, Double>> ranking = Map.Entry.<Long, Double>comparingByValue()
+                .thenComparing(Map.Entry.comparingByKey());
+        PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(ranking);
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            top.offer(entry);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<Long> result = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            result.add(0, top.poll().getKey());
+        }
+        return result;
+    }
+
+    long maxDocId() {
+        lock.readLock().lock();
+        try {
+            return maxDocId;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // სეგმენტი: თაობა, ჩაწერის დრო, term -> სერიალიზებული bitmap; forward map ჩატვირთვისას აღდგება
+    void writeSegment(Path file, long generation) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        long snapshot;
+        long snapshotMaxDocId;
+        Instant writtenAt;
+        List<Map.Entry<String, Roaring64Bitmap>> terms;
+        // lock-ის ქვეშ მხოლოდ ასლი; დისკზე ჩაწერისას ძებნა და ინდექსაცია არ ჩერდება
+        lock.readLock().lock();
+        try {
+            snapshot = version;
+            if (snapshot == persistedVersion && Files.exists(file)) {
+                return;
+            }
+            snapshotMaxDocId = maxDocId;
+            writtenAt = Instant.now();
+            terms = new ArrayList<>(postings.size());
+            for (Map.Entry<String, Roaring64Bitmap> entry : postings.entrySet()) {
+                terms.add(Map.entry(entry.getKey(), entry.getValue().clone()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(SEGMENT_MAGIC);
+            out.writeInt(SEGMENT_VERSION);
+            out.writeLong(generation);
+            out.writeLong(writtenAt.toEpochMilli());
+            out.writeLong(snapshotMaxDocId);
+            out.writeInt(terms.size());
+            for (Map.Entry<String, Roaring64Bitmap> entry : terms) {
+                out.writeUTF(entry.getKey());
+                entry.getValue().serialize(out);
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        persistedVersion = snapshot;
+    }
+
+    // სხვა თაობის (მაგ. თავიდან შექმნილი ცხრილის) სეგმენტი არ იტვირთება
+    Optional<Segment> readSegment(Path file, long generation) throws IOException {
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != SEGMENT_MAGIC || in.readInt() != SEGMENT_VERSION || in.readLong() != generation) {
+                return Optional.empty();
+            }
+            Instant writtenAt = Instant.ofEpochMilli(in.readLong());
+            long segmentMaxDocId = in.readLong();
+            int termCount = in.readInt();
+
+            Map<Long, List<String>> forward = new HashMap<>();
+            for (int i = 0; i < termCount; i++) {
+                String term = in.readUTF();
+                Roaring64Bitmap posting = new Roaring64Bitmap();
+                posting.deserialize(in);
+                LongIterator ids = posting.getLongIterator();
+                while (ids.hasNext()) {
+                    forward.computeIfAbsent(ids.next(), id -> new ArrayList<>(4)).add(term);
+                }
+            }
+
+            Roaring64Bitmap loaded = new Roaring64Bitmap();
+            lock.writeLock().lock();
+            try {
+                // ჩატვირთვის დროს უკვე შეცვლილ დოკუმენტებს სეგმენტი არ გადაფარავს
+                forward.forEach((id, terms) -> {
+                    if (!documents.containsKey(id)) {
+                        for (String term : terms) {
+                            postings.computeIfAbsent(term, t -> new Roaring64Bitmap()).addLong(id);
+                        }
+                        documents.put(id, terms.toArray(String[]::new));
+                        loaded.addLong(id);
+                    }
+                });
+                maxDocId = Math.max(maxDocId, segmentMaxDocId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return Optional.of(new Segment(writtenAt, segmentMaxDocId, loaded));
+        }
+    }
+
+    /**
+     * What a loaded segment contributed: when it was written, its highest id, and the
+     * ids taken from it (the ones that may have been deleted since).
+     */
+    record Segment(Instant writtenAt, long maxDocId, Roaring64Bitmap ids) {
+    }
+
+    private void removeLocked(long id) {
+        String[] previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous) {
+            Roaring64Bitmap posting = postings.get(term);
+            if (posting != null) {
+                posting.removeLong(id);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        version++;
+    }
+}
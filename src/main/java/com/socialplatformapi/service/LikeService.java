@@ -1,58 +1,239 @@
 package com.socialplatformapi.service;
 
+import com.socialplatformapi.dto.activity.ActivityEvent;
+import com.socialplatformapi.dto.activity.ActivityType;
+import com.socialplatformapi.dto.bulk.BulkItemResult;
+import com.socialplatformapi.dto.bulk.BulkResult;
+import com.socialplatformapi.dto.like.LikeStatus;
+import com.socialplatformapi.dto.like.LikerView;
+import com.socialplatformapi.dto.like.PostLiker;
+import com.socialplatformapi.dto.page.PageCursor;
 import com.socialplatformapi.exception.like.LikeException;
+import com.socialplatformapi.exception.pagination.InvalidCursorException;
 import com.socialplatformapi.exception.post.PostException;
 import com.socialplatformapi.model.Like;
-import com.socialplatformapi.model.Post;
 import com.socialplatformapi.model.User;
 import com.socialplatformapi.repository.LikeRepository;
 import com.socialplatformapi.repository.PostRepository;
+import com.socialplatformapi.repository.UserRepository;
+import com.socialplatformapi.security.AuthenticatedUser;
 import lombok.AllArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
 public class LikeService {
     private final LikeRepository likeRepository;
     private final PostRepository postRepository;
+    private final UserRepository userRepository;
+    private final PostCounterService postCounterService;
+    private final LikerIndex likerIndex;
+    private final LikeWriteBuffer likeWriteBuffer;
+    private final PostViewCache postViewCache;
+    private final TrendingService trendingService;
+    private final ActivityHub activityHub;
+    private final BulkRequestValidator bulkRequestValidator;
 
-    public void likePost(Long postId, User user) {
-        Post post = postRepository.findById(postId)
+    public void likePost(Long postId, AuthenticatedUser user) {
+        boolean alreadyLiked = likerIndex.hasLiked(postId, user.getId())
                 .orElseThrow(() -> new PostException("Post with id " + postId + " does not exist"));
 
-        if (likeRepository.existsLikeByPostIdAndUserId(post.getId(), user.getId())) {
-            throw new LikeException("Post with id " + post.getId() + " is already liked by user " + user.getUsername());
+        if (alreadyLiked) {
+            throw new LikeException("Post with id " + postId + " is already liked by user " + user.getUsername());
+        }
+
+        if (likeWriteBuffer.isEnabled()) {
+            if (!likeWriteBuffer.like(postId, user)) {
+                // პარალელური მოთხოვნა იგივე მოწონებით უკვე ბუფერშია
+                throw new LikeException("Post with id " + postId + " is already liked by user " + user.getUsername());
+            }
+            likerIndex.added(postId, user.getId());
+            postCounterService.likeAdded(postId);
+            postViewCache.invalidate(postId);
+            trendingService.record(postId);
+            activityHub.publish(ActivityEvent.likeEvent(ActivityType.LIKE_ADDED, postId, user));
+            return;
         }
 
         Like like = new Like();
-        like.setPost(post);
-        like.setUser(user);
+        like.setPost(postRepository.getReferenceById(postId));
+        like.setUser(userRepository.getReferenceById(user.getId()));
         like.setLikedAt(LocalDateTime.now());
-        likeRepository.save(like);
+        try {
+            likeRepository.save(like);
+        } catch (DataIntegrityViolationException e) {
+            // ინდექსი მოძველდა (მაგ. სხვა ნოდმა ჩაწერა ან პოსტი წაიშალა)
+            likerIndex.evict(postId);
+            if (!postRepository.existsById(postId)) {
+                throw new PostException("Post with id " + postId + " does not exist");
+            }
+            throw new LikeException("Post with id " + postId + " is already liked by user " + user.getUsername());
+        }
+        likerIndex.added(postId, user.getId());
+        postCounterService.likeAdded(postId);
+        postViewCache.invalidate(postId);
+        trendingService.record(postId);
+        activityHub.publish(ActivityEvent.likeEvent(ActivityType.LIKE_ADDED, postId, user));
     }
 
-    public void unlikePost(Long postId, User user) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new PostException("Post with id " + postId + " does not exist"));
+    public BulkResult likePosts(List<Long> postIds, AuthenticatedUser user) {
+        long start = System.nanoTime();
+        bulkRequestValidator.checkSize(postIds);
 
-        Like like = likeRepository.findByUserIdAndPostId(user.getId(), post.getId())
-                .orElseThrow(() ->
-                        new LikeException("Post with id " + post.getId() + " is not liked by user " + user.getUsername()));
+        List<BulkItemResult> results = new ArrayList<>(postIds.size());
+        Map<Long, Integer> wanted = new LinkedHashMap<>();
+        for (int i = 0; i < postIds.size(); i++) {
+            Long postId = postIds.get(i);
+            if (postId == null) {
+                results.add(BulkItemResult.failed(i, "Post ID must not be null"));
+            } else if (wanted.putIfAbsent(postId, i) != null) {
+                results.add(BulkItemResult.failed(i, "Post with id " + postId + " is listed more than once"));
+            }
+        }
 
-        likeRepository.delete(like);
+        if (likeWriteBuffer.isEnabled()) {
+            // ბუფერი თავად აჯგუფებს ჩაწერას
+            wanted.forEach((postId, i) -> results.add(likeOne(i, postId, user)));
+            return BulkResult.of(results, start);
+        }
+
+        Set<Long> existing = new HashSet<>(postRepository.findExistingIds(wanted.keySet()));
+        Set<Long> alreadyLiked = new HashSet<>(likeRepository.findLikedPostIds(user.getId(), wanted.keySet()));
+        List<Like> likes = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        User liker = userRepository.getReferenceById(user.getId());
+        wanted.forEach((postId, i) -> {
+            if (!existing.contains(postId)) {
+                results.add(BulkItemResult.failed(i, "Post with id " + postId + " does not exist"));
+            } else if (alreadyLiked.contains(postId)) {
+                results.add(BulkItemResult.failed(i, "Post with id " + postId + " is already liked by user " + user.getUsername()));
+            } else {
+                Like like = new Like();
+                like.setPost(postRepository.getReferenceById(postId));
+                like.setUser(liker);
+                like.setLikedAt(LocalDateTime.now());
+                likes.add(like);
+                indexes.add(i);
+            }
+        });
+
+        List<Like> saved;
+        try {
+            saved = likeRepository.saveAll(likes);
+        } catch (DataIntegrityViolationException e) {
+            // პარალელური ჩაწერა ან წაშლა: თითოეულს ცალკე ვცდით, რომ შედეგი ელემენტზე ზუსტი იყოს
+            for (int i = 0; i < likes.size(); i++) {
+                results.add(likeOne(indexes.get(i), likes.get(i).getPost().getId(), user));
+            }
+            return BulkResult.of(results, start);
+        }
+
+        for (int i = 0; i < saved.size(); i++) {
+            Long postId = saved.get(i).getPost().getId();
+            results.add(BulkItemResult.created(indexes.get(i), saved.get(i).getId()));
+            likerIndex.added(postId, user.getId());
+            postCounterService.likeAdded(postId);
+            postViewCache.invalidate(postId);
+            trendingService.record(postId);
+            activityHub.publish(ActivityEvent.likeEvent(ActivityType.LIKE_ADDED, postId, user));
+        }
+        return BulkResult.of(results, start);
     }
 
-    public List<String> getUsernamesWhoLiked(Long postId, Pageable pageable) {
-        Post post = postRepository.findById(postId)
+    private BulkItemResult likeOne(int index, Long postId, AuthenticatedUser user) {
+        try {
+            likePost(postId, user);
+            return BulkItemResult.created(index, null);
+        } catch (PostException | LikeException e) {
+            return BulkItemResult.failed(index, e.getMessage());
+        }
+    }
+
+    public void unlikePost(Long postId, AuthenticatedUser user) {
+        boolean liked = likerIndex.hasLiked(postId, user.getId())
+                .orElseThrow(() -> new PostException("Post with id " + postId + " does not exist"));
+
+        if (liked && likeWriteBuffer.isEnabled()) {
+            if (!likeWriteBuffer.unlike(postId, user)) {
+                throw new LikeException("Post with id " + postId + " is not liked by user " + user.getUsername());
+            }
+        } else if (!liked || likeRepository.deleteByUserIdAndPostId(user.getId(), postId) == 0) {
+            likerIndex.evict(postId);
+            throw new LikeException("Post with id " + postId + " is not liked by user " + user.getUsername());
+        }
+        likerIndex.removed(postId, user.getId());
+        postCounterService.likeRemoved(postId);
+        postViewCache.invalidate(postId);
+        activityHub.publish(ActivityEvent.likeEvent(ActivityType.LIKE_REMOVED, postId, user));
+    }
+
+    public LikeStatus getLikeStatus(Long postId, AuthenticatedUser user) {
+        boolean liked = likerIndex.hasLiked(postId, user.getId())
                 .orElseThrow(() -> new PostException("Post with id " + postId + " does not exist"));
+        long likeCount = likerIndex.likeCount(postId).orElse(0L);
+        return new LikeStatus(postId, liked, likeCount);
+    }
 
-        return likeRepository.findAllByPostId(post.getId(), pageable)
+    // გამომძახებელმა პოსტის არსებობა უკვე იცის, ამიტომ აქ მეორედ არ ვამოწმებთ
+    public List<String> getUsernamesWhoLiked(Long postId, Pageable pageable) {
+        List<String> usernames = likeRepository.findLikers(postId, pageable)
                 .stream()
-                .map(l -> l.getUser().getUsername())
+                .map(LikerView::getUsername)
                 .toList();
+        // write-behind რეჟიმში ჯერ ჩაუწერელი მოწონებებიც უნდა ჩანდეს
+        return likeWriteBuffer.overlay(postId, usernames, pageable.getPageSize());
+    }
+
+    public List<LikerView> getLikers(Long postId, PageCursor after, int size) {
+        List<LikerView> likers = after == null
+                ? likeRepository.findLikers(postId, PageRequest.of(0, size))
+                : likeRepository.findLikersAfter(postId, parseLikedAt(after.requireKey().key()), after.id(),
+                        PageRequest.of(0, size));
+        // ცარიელ პასუხზე ვარკვევთ, პოსტი საერთოდ არსებობს თუ არა
+        if (likers.isEmpty() && !postRepository.existsById(postId)) {
+            throw new PostException("Post with id " + postId + " does not exist");
+        }
+        return likers;
+    }
+
+    private LocalDateTime parseLikedAt(String key) {
+        try {
+            return LocalDateTime.parse(key);
+        } catch (DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor key '" + key + "'");
+        }
+    }
+
+    public Map<Long, List<String>> getTopLikersByPosts(Collection<Long> postIds, int limit) {
+        if (postIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, List<String>> likers = likeRepository.findTopLikersByPostIds(postIds, limit)
+                .stream()
+                .collect(Collectors.groupingBy(PostLiker::getPostId,
+                        Collectors.mapping(PostLiker::getUsername, Collectors.toList())));
+        if (!likeWriteBuffer.isEnabled()) {
+            return likers;
+        }
+        Map<Long, List<String>> withPending = new HashMap<>();
+        for (Long postId : postIds) {
+            withPending.put(postId, likeWriteBuffer.overlay(postId, likers.getOrDefault(postId, List.of()), limit));
+        }
+        return withPending;
     }
 }
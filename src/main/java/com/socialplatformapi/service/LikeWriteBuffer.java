@@ -0,0 +1,313 @@
+package com.socialplatformapi.service;
+
+import com.socialplatformapi.exception.overload.OverloadException;
+import com.socialplatformapi.security.AuthenticatedUser;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Optional write-behind path for likes (likes.write-behind.enabled). Like/unlike
+ * intents are coalesced per (post, user) in a bounded buffer and written as JDBC
+ * batches on a size or time trigger; a like followed by an unlike of the same
+ * post never reaches the database. A batch that fails is retried row by row: rows
+ * rejected by a constraint (e.g. a user deleted before the flush) are dropped, the
+ * rest are re-queued.
+ */
+@Slf4j
+@Service
+public class LikeWriteBuffer {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO likes (id, post_id, user_id, liked_at)
+            SELECT nextval('likes_seq'), ?, ?, ?
+            WHERE EXISTS (SELECT 1 FROM posts WHERE id = ? AND deleted_at IS NULL)
+            ON CONFLICT (user_id, post_id) DO NOTHING
+            """;
+
+    private static final String DELETE_SQL = "DELETE FROM likes WHERE user_id = ? AND post_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int capacity;
+    private final int batchSize;
+    private final long offerTimeoutMs;
+    private final Semaphore slots;
+
+    // postId -> (userId -> ბოლო განზრახვა); შიდა map-ს მხოლოდ compute-ის შიგნით ვეხებით
+    private final Map<Long, Map<Long, Intent>> pending = new ConcurrentHashMap<>();
+    // ამჟამად ბაზაში ჩაწერის პროცესში მყოფი განზრახვები
+    private final Map<Long, List<Intent>> inFlight = new ConcurrentHashMap<>();
+
+    private final ExecutorService flusher = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "like-write-behind");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private volatile boolean closed;
+
+    public LikeWriteBuffer(JdbcTemplate jdbcTemplate,
+                           @Value("${likes.write-behind.enabled:false}") boolean enabled,
+                           @Value("${likes.write-behind.capacity:10000}") int capacity,
+                           @Value("${likes.write-behind.batch-size:500}") int batchSize,
+                           @Value("${likes.write-behind.offer-timeout-ms:100}") long offerTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.slots = new Semaphore(capacity);
+    }
+
+    public boolean isEnabled() {
+        return enabled && !closed;
+    }
+
+    // false, თუ იგივე განზრახვა უკვე ბუფერშია: მრიცხველი და მოვლენა მეორედ არ უნდა შეიცვალოს
+    public boolean like(Long postId, AuthenticatedUser user) {
+        return offer(new Intent(postId, user.getId(), user.getUsername(), true, LocalDateTime.now()));
+    }
+
+    public boolean unlike(Long postId, AuthenticatedUser user) {
+        return offer(new Intent(postId, user.getId(), user.getUsername(), false, LocalDateTime.now()));
+    }
+
+    // ამ პოსტის ჯერ ბაზაში ჩაუწერელი განზრახვები, userId-ის მიხედვით (ახალი ძველს ფარავს)
+    public Map<Long, Intent> pendingFor(Long postId) {
+        Map<Long, Intent> result = new LinkedHashMap<>();
+        List<Intent> writing = inFlight.get(postId);
+        if (writing != null) {
+            writing.forEach(i -> result.put(i.userId(), i));
+        }
+        pending.computeIfPresent(postId, (id, perPost) -> {
+            result.putAll(perPost);
+            return perPost;
+        });
+        return result;
+    }
+
+    public List<String> overlay(Long postId, List<String> usernames, int pageSize) {
+        Map<Long, Intent> intents = pendingFor(postId);
+        if (intents.isEmpty()) {
+            return usernames;
+        }
+        List<String> result = new ArrayList<>(usernames);
+        for (Intent intent : intents.values()) {
+            if (!intent.like()) {
+                result.remove(intent.username());
+            } else if (result.size() < pageSize && !result.contains(intent.username())) {
+                // ახალი მოწონებები სიის ბოლოს ხვდება
+                result.add(intent.username());
+            }
+        }
+        return result;
+    }
+
+    private boolean offer(Intent intent) {
+        if (closed) {
+            throw new OverloadException("Like buffer is shutting down", 1);
+        }
+        acquireSlot();
+
+        boolean[] slotUsed = {false};
+        boolean[] changed = {false};
+        pending.compute(intent.postId(), (id, perPost) -> {
+            Map<Long, Intent> intents = perPost == null ? new HashMap<>() : perPost;
+            Intent previous = intents.get(intent.userId());
+            if (previous == null) {
+                if (!sameAsInFlight(intent)) {
+                    intents.put(intent.userId(), intent);
+                    slotUsed[0] = true;
+                    changed[0] = true;
+                }
+            } else if (previous.like() != intent.like()) {
+                // like -> unlike (ან პირიქით) ერთმანეთს აბათილებს, ბაზაში არაფერი იცვლება
+                intents.remove(intent.userId());
+                slots.release();
+                changed[0] = true;
+            }
+            return intents.isEmpty() ? null : intents;
+        });
+        if (!slotUsed[0]) {
+            slots.release();
+        }
+
+        if (pendingCount() >= batchSize && flushScheduled.compareAndSet(false, true)) {
+            flusher.execute(() -> {
+                flushScheduled.set(false);
+                flush();
+            });
+        }
+        return changed[0];
+    }
+
+    private boolean sameAsInFlight(Intent intent) {
+        List<Intent> writing = inFlight.get(intent.postId());
+        if (writing == null) {
+            return false;
+        }
+        for (Intent i : writing) {
+            if (i.userId().equals(intent.userId())) {
+                return i.like() == intent.like();
+            }
+        }
+        return false;
+    }
+
+    private void acquireSlot() {
+        try {
+            if (!slots.tryAcquire(offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new OverloadException("Too many pending likes, try again later", 1);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OverloadException("Interrupted while waiting for like buffer", 1);
+        }
+    }
+
+    private int pendingCount() {
+        return capacity - slots.availablePermits();
+    }
+
+    @Scheduled(fixedDelayString = "${likes.write-behind.flush-interval-ms:200}")
+    public synchronized void flush() {
+        if (!enabled || pending.isEmpty()) {
+            return;
+        }
+
+        List<Intent> drained = new ArrayList<>();
+        for (Long postId : pending.keySet()) {
+            pending.computeIfPresent(postId, (id, perPost) -> {
+                List<Intent> intents = new ArrayList<>(perPost.values());
+                inFlight.put(id, intents);
+                drained.addAll(intents);
+                return null;
+            });
+        }
+
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        for (Intent intent : drained) {
+            if (intent.like()) {
+                inserts.add(new Object[]{intent.postId(), intent.userId(),
+                        Timestamp.valueOf(intent.at()), intent.postId()});
+            } else {
+                deletes.add(new Object[]{intent.userId(), intent.postId()});
+            }
+        }
+
+        try {
+            write(INSERT_SQL, inserts);
+            write(DELETE_SQL, deletes);
+            slots.release(drained.size());
+        } catch (Exception e) {
+            log.warn("Error flushing {} buffered likes, retrying one by one: {}", drained.size(), e.getMessage());
+            writeOneByOne(drained);
+        } finally {
+            drained.forEach(i -> inFlight.remove(i.postId()));
+        }
+    }
+
+    // წაშლილი მომხმარებლის ჩაუწერელი განზრახვები; აბრუნებს გაუქმებულებს
+    public List<Intent> discardUser(Long userId) {
+        List<Intent> discarded = new ArrayList<>();
+        for (Long postId : pending.keySet()) {
+            pending.computeIfPresent(postId, (id, perPost) -> {
+                Intent intent = perPost.remove(userId);
+                if (intent != null) {
+                    discarded.add(intent);
+                }
+                return perPost.isEmpty() ? null : perPost;
+            });
+        }
+        slots.release(discarded.size());
+        return discarded;
+    }
+
+    @PreDestroy
+    public void drain() {
+        closed = true;
+        flusher.shutdown();
+        // ყველაფერს ვწერთ ბაზაში, სანამ DataSource დაიხურება
+        int attempts = 0;
+        while (!pending.isEmpty() && attempts++ < 10) {
+            flush();
+        }
+        if (!pending.isEmpty()) {
+            log.error("Shutting down with {} unwritten likes", pendingCount());
+        }
+    }
+
+    private void write(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + batchSize, rows.size())));
+        }
+    }
+
+    // ერთი ცუდი სტრიქონი (მაგ. წაშლილი მომხმარებლის FK) მთელ ბუფერს აღარ ბლოკავს
+    private void writeOneByOne(List<Intent> intents) {
+        int dropped = 0;
+        for (int i = 0; i < intents.size(); i++) {
+            Intent intent = intents.get(i);
+            try {
+                if (intent.like()) {
+                    jdbcTemplate.update(INSERT_SQL, intent.postId(), intent.userId(),
+                            Timestamp.valueOf(intent.at()), intent.postId());
+                } else {
+                    jdbcTemplate.update(DELETE_SQL, intent.userId(), intent.postId());
+                }
+                slots.release();
+            } catch (DataIntegrityViolationException e) {
+                log.warn("Dropping buffered {} of post {} by user {}: {}",
+                        intent.like() ? "like" : "unlike", intent.postId(), intent.userId(), e.getMessage());
+                slots.release();
+                dropped++;
+            } catch (Exception e) {
+                // ბაზა მიუწვდომელია: დარჩენილს მომდევნო flush ცდის
+                log.error("Error writing buffered likes, re-queueing {}: {}", intents.size() - i, e.getMessage(), e);
+                requeue(intents.subList(i, intents.size()));
+                break;
+            }
+        }
+        if (dropped > 0) {
+            log.warn("Dropped {} buffered likes rejected by the database", dropped);
+        }
+    }
+
+    private void requeue(List<Intent> intents) {
+        for (Intent intent : intents) {
+            boolean[] superseded = {false};
+            pending.compute(intent.postId(), (id, perPost) -> {
+                Map<Long, Intent> current = perPost == null ? new HashMap<>() : perPost;
+                // უფრო ახალი განზრახვა უკვე ასახავს მომხმარებლის სურვილს
+                superseded[0] = current.putIfAbsent(intent.userId(), intent) != null;
+                return current;
+            });
+            if (superseded[0]) {
+                slots.release();
+            }
+        }
+    }
+
+    public record Intent(Long postId, Long userId, String username, boolean like, LocalDateTime at) {
+    }
+}
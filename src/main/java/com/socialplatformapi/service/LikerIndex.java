@@ -0,0 +1,115 @@
+package com.socialplatformapi.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.socialplatformapi.repository.LikeRepository;
+import com.socialplatformapi.repository.PostRepository;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Per-post compressed set of liker user ids. Loaded lazily from the likes table
+ * the first time a post is touched and kept current by {@link LikeService}, so
+ * "already liked?" checks and like counts are answered without a query.
+ * Bounded by total bitmap size; posts nobody touches are evicted.
+ */
+@Service
+public class LikerIndex {
+
+    private final LikeRepository likeRepository;
+    private final PostRepository postRepository;
+    private final LikeWriteBuffer likeWriteBuffer;
+    private final Cache<Long, PostLikers> likers;
+
+    public LikerIndex(LikeRepository likeRepository,
+                      PostRepository postRepository,
+                      LikeWriteBuffer likeWriteBuffer,
+                      @Value("${likes.index.max-bytes:67108864}") long maxBytes,
+                      @Value("${likes.index.expire-after-access:30m}") Duration expireAfterAccess) {
+        this.likeRepository = likeRepository;
+        this.postRepository = postRepository;
+        this.likeWriteBuffer = likeWriteBuffer;
+        this.likers = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long postId, PostLikers value) -> value.weight())
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+    }
+
+    // ცარიელი Optional ნიშნავს, რომ პოსტი არ არსებობს
+    public Optional<Boolean> hasLiked(Long postId, Long userId) {
+        return find(postId).map(l -> l.contains(userId));
+    }
+
+    public Optional<Long> likeCount(Long postId) {
+        return find(postId).map(PostLikers::cardinality);
+    }
+
+    public void added(Long postId, Long userId) {
+        // computeIfPresent ელოდება პარალელურ ჩატვირთვას, ასე რომ ცვლილება არ იკარგება
+        likers.asMap().computeIfPresent(postId, (id, l) -> l.add(userId));
+    }
+
+    public void removed(Long postId, Long userId) {
+        likers.asMap().computeIfPresent(postId, (id, l) -> l.remove(userId));
+    }
+
+    public void evict(Long postId) {
+        likers.invalidate(postId);
+    }
+
+    private Optional<PostLikers> find(Long postId) {
+        return Optional.ofNullable(likers.get(postId, this::load));
+    }
+
+    private PostLikers load(Long postId) {
+        if (!postRepository.existsById(postId)) {
+            return null;
+        }
+        PostLikers loaded = new PostLikers();
+        likeRepository.findUserIdsByPostId(postId).forEach(loaded::add);
+        likeWriteBuffer.pendingFor(postId).values().forEach(intent -> {
+            if (intent.like()) {
+                loaded.add(intent.userId());
+            } else {
+                loaded.remove(intent.userId());
+            }
+        });
+        return loaded.optimize();
+    }
+
+    private static final class PostLikers {
+        private final Roaring64Bitmap bitmap = new Roaring64Bitmap();
+
+        synchronized PostLikers add(Long userId) {
+            bitmap.addLong(userId);
+            return this;
+        }
+
+        synchronized PostLikers remove(Long userId) {
+            bitmap.removeLong(userId);
+            return this;
+        }
+
+        synchronized boolean contains(Long userId) {
+            return bitmap.contains(userId);
+        }
+
+        synchronized long cardinality() {
+            return bitmap.getLongCardinality();
+        }
+
+        synchronized PostLikers optimize() {
+            bitmap.runOptimize();
+            return this;
+        }
+
+        synchronized int weight() {
+            return (int) Math.min(Integer.MAX_VALUE, bitmap.getLongSizeInBytes());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.socialplatformapi.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.socialplatformapi.exception.auth.TooManyAttemptsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Token buckets for failed logins, one per email and one per client IP. Only failures
+ * take tokens, so a user who types the right password is never slowed down; once a
+ * bucket is empty, further attempts are refused with 429 before any hashing is done.
+ */
+@Service
+public class LoginThrottle {
+
+    private final Cache<String, Bucket> buckets;
+    private final int emailCapacity;
+    private final int ipCapacity;
+    private final double refillPerNano;
+
+    public LoginThrottle(@Value("${login-throttle.email-capacity:5}") int emailCapacity,
+                         @Value("${login-throttle.ip-capacity:20}") int ipCapacity,
+                         @Value("${login-throttle.refill-interval:1m}") Duration refillInterval,
+                         @Value("${login-throttle.max-keys:100000}") long maxKeys) {
+        this.emailCapacity = emailCapacity;
+        this.ipCapacity = ipCapacity;
+        this.refillPerNano = 1.0 / refillInterval.toNanos();
+        // სავსე bucket-ის შენახვა საჭირო აღარაა, ამიტომ უმოქმედო გასაღებები ქრება
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(refillInterval.multipliedBy(Math.max(emailCapacity, ipCapacity)))
+                .build();
+    }
+
+    public void checkAllowed(String email, String clientIp) {
+        long now = System.nanoTime();
+        long retryAfter = Math.max(
+                retryAfterSeconds(emailKey(email), now),
+                retryAfterSeconds(ipKey(clientIp), now));
+        if (retryAfter > 0) {
+            throw new TooManyAttemptsException("Too many failed login attempts, try again later", retryAfter);
+        }
+    }
+
+    public void recordFailure(String email, String clientIp) {
+        long now = System.nanoTime();
+        bucket(emailKey(email), emailCapacity).take(now);
+        bucket(ipKey(clientIp), ipCapacity).take(now);
+    }
+
+    public void recordSuccess(String email) {
+        buckets.invalidate(emailKey(email));
+    }
+
+    private long retryAfterSeconds(String key, long now) {
+        Bucket bucket = buckets.getIfPresent(key);
+        return bucket == null ? 0 : bucket.secondsUntilToken(now);
+    }
+
+    private Bucket bucket(String key, int capacity) {
+        return buckets.get(key, k -> new Bucket(capacity, System.nanoTime()));
+    }
+
+    private static String emailKey(String email) {
+        return "e:" + email.toLowerCase(Locale.ROOT);
+    }
+
+    private static String ipKey(String clientIp) {
+        return "i:" + clientIp;
+    }
+
+    private final class Bucket {
+        private final int capacity;
+        private double tokens;
+        private long refilledAt;
+
+        private Bucket(int capacity, long refilledAt) {
+            this.capacity = capacity;
+            this.tokens = capacity;
+            this.refilledAt = refilledAt;
+        }
+
+        synchronized void take(long now) {
+            refill(now);
+            tokens = Math.max(0, tokens - 1);
+        }
+
+        synchronized long secondsUntilToken(long now) {
+            refill(now);
+            if (tokens >= 1) {
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((1 - tokens) / refillPerNano / 1_000_000_000.0));
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * refillPerNano);
+            refilledAt = now;
+        }
+    }
+}
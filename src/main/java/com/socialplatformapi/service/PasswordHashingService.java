@@ -0,0 +1,151 @@
+package com.socialplatformapi.service;
+
+import com.socialplatformapi.dto.auth.HashingStats;
+import com.socialplatformapi.exception.overload.OverloadException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt on a small CPU-sized pool instead of on request threads, so a login
+ * burst cannot occupy every Tomcat worker. The queue is bounded; when it is full the
+ * request fails at once with 503 and Retry-After rather than waiting behind it.
+ * Bulk imports hash on a separate pool, so they cannot fill the login queue; that pool's
+ * queue is bounded too, and an import waits for a free slot instead of queueing its batch.
+ */
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final ThreadPoolExecutor bulkExecutor;
+    private final Semaphore bulkSlots;
+    private final int queueCapacity;
+    private final long retryAfterSeconds;
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder hashed = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final AtomicLong maxHashNanos = new AtomicLong();
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  @Value("${password-hashing.threads:0}") int threads,
+                                  @Value("${password-hashing.queue-size:64}") int queueCapacity,
+                                  @Value("${password-hashing.retry-after-seconds:1}") long retryAfterSeconds,
+                                  @Value("${password-hashing.bulk-threads:0}") int bulkThreads,
+                                  @Value("${password-hashing.bulk-queue-size:32}") int bulkQueueCapacity) {
+        this.passwordEncoder = passwordEncoder;
+        this.queueCapacity = queueCapacity;
+        this.retryAfterSeconds = retryAfterSeconds;
+        // 0 ნიშნავს პროცესორების რაოდენობას: BCrypt მთლიანად CPU-ზეა
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread thread = new Thread(r, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        // იმპორტი პროცესორების ნახევარს იყენებს, რომ შესვლებს CPU დარჩეს
+        int bulkPoolSize = bulkThreads > 0 ? bulkThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger bulkThreadNumber = new AtomicInteger();
+        this.bulkExecutor = new ThreadPoolExecutor(bulkPoolSize, bulkPoolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(bulkQueueCapacity),
+                r -> {
+                    Thread thread = new Thread(r, "password-hashing-bulk-" + bulkThreadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        // ყოველი ნაკადი და რიგის ადგილი ერთი slot-ია, ამიტომ რიგი არასდროს ივსება
+        this.bulkSlots = new Semaphore(bulkPoolSize + bulkQueueCapacity);
+    }
+
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    // გამომძახებელი თავისუფალ slot-ს ელოდება, ამიტომ batch-ი რიგში მთლიანად არასდროს დგას
+    public List<String> encodeAll(List<String> rawPasswords) {
+        List<CompletableFuture<String>> hashes = new ArrayList<>(rawPasswords.size());
+        for (String raw : rawPasswords) {
+            bulkSlots.acquireUninterruptibly();
+            try {
+                hashes.add(timed(() -> passwordEncoder.encode(raw), bulkExecutor)
+                        .whenComplete((hash, error) -> bulkSlots.release()));
+            } catch (RejectedExecutionException e) {
+                // მხოლოდ გათიშვისას
+                bulkSlots.release();
+                throw e;
+            }
+        }
+        return hashes.stream().map(CompletableFuture::join).toList();
+    }
+
+    // ჰეშის ფორმატის შემოწმება იაფია, ამიტომ pool-ში არ გადადის
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    public HashingStats getStats() {
+        long count = hashed.sum();
+        return new HashingStats(
+                executor.getMaximumPoolSize(),
+                executor.getActiveCount(),
+                executor.getQueue().size(),
+                queueCapacity,
+                count,
+                rejected.sum(),
+                count == 0 ? 0 : hashNanos.sum() / 1_000_000.0 / count,
+                maxHashNanos.get() / 1_000_000.0);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        bulkExecutor.shutdownNow();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return timed(task, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new OverloadException("Too many password checks in progress, try again later", retryAfterSeconds);
+        }
+    }
+
+    private <T> CompletableFuture<T> timed(Supplier<T> task, Executor pool) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            try {
+                return task.get();
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                hashed.increment();
+                hashNanos.add(elapsed);
+                maxHashNanos.accumulateAndGet(elapsed, Math::max);
+            }
+        }, pool);
+    }
+}
@@ -0,0 +1,220 @@
+package com.socialplatformapi.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps posts.like_count / posts.comment_count up to date without touching the
+ * post row on every like or comment. Mutations land in per-post {@link LongAdder}s
+ * and a scheduled flush applies the accumulated deltas as one JDBC batch. Deltas are
+ * only changed inside {@code compute}, so the flush can detach one and sum it exactly.
+ * A delta raised inside a transaction is only added once that transaction commits, so
+ * every pending delta is already part of the like/comment rows reconcile counts; reconcile
+ * subtracts them rather than letting the next flush count them a second time.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostCounterService {
+
+    private static final String FLUSH_SQL =
+            "UPDATE posts SET like_count = like_count + ?, comment_count = comment_count + ? WHERE id = ?";
+
+    private static final String RECONCILE_SQL = """
+            UPDATE posts p
+            SET like_count = c.likes, comment_count = c.comments
+            FROM (
+                SELECT p2.id,
+                       (SELECT COUNT(*) FROM likes l WHERE l.post_id = p2.id) AS likes,
+                       (SELECT COUNT(*) FROM comments cm WHERE cm.post_id = p2.id) AS comments
+                FROM posts p2
+                WHERE p2.id > ? AND p2.id <= ?
+            ) c
+            WHERE p.id = c.id
+              AND (p.like_count <> c.likes OR p.comment_count <> c.comments)
+            """;
+
+    // იგივე, ოღონდ ჯერ არ ჩაწერილი ცვლილებები COUNT-ს აკლდება, რადგან flush მათ შემდეგ დაამატებს
+    private static final String RECONCILE_PENDING_SQL = """
+            UPDATE posts p
+            SET like_count = c.likes, comment_count = c.comments
+            FROM (
+                SELECT p2.id,
+                       (SELECT COUNT(*) FROM likes l WHERE l.post_id = p2.id) - COALESCE(d.likes, 0) AS likes,
+                       (SELECT COUNT(*) FROM comments cm WHERE cm.post_id = p2.id) - COALESCE(d.comments, 0) AS comments
+                FROM posts p2
+                LEFT JOIN unnest(?::bigint[], ?::bigint[], ?::bigint[]) AS d(id, likes, comments) ON d.id = p2.id
+                WHERE p2.id > ? AND p2.id <= ?
+            ) c
+            WHERE p.id = c.id
+              AND (p.like_count <> c.likes OR p.comment_count <> c.comments)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, Delta> pending = new ConcurrentHashMap<>();
+
+    @Value("${posts.counters.batch-size:500}")
+    private int batchSize;
+
+    @Value("${posts.counters.reconcile-chunk-size:1000}")
+    private int reconcileChunkSize;
+
+    public void likeAdded(Long postId) {
+        add(postId, 1, 0);
+    }
+
+    public void likeRemoved(Long postId) {
+        add(postId, -1, 0);
+    }
+
+    public void commentAdded(Long postId) {
+        add(postId, 0, 1);
+    }
+
+    public void commentRemoved(Long postId) {
+        add(postId, 0, -1);
+    }
+
+    // ჯერ არ ჩაწერილი ცვლილებები, რომ ამ ნოდმა საკუთარი ჩანაწერები დაინახოს
+    public long pendingLikes(Long postId) {
+        Delta delta = pending.get(postId);
+        return delta == null ? 0 : delta.likes.sum();
+    }
+
+    public long pendingComments(Long postId) {
+        Delta delta = pending.get(postId);
+        return delta == null ? 0 : delta.comments.sum();
+    }
+
+    public void forget(Long postId) {
+        pending.remove(postId);
+    }
+
+    @Scheduled(fixedDelayString = "${posts.counters.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        List<Object[]> batch = new ArrayList<>();
+        for (Long postId : pending.keySet()) {
+            // ცვლილებები compute-ში ემატება, ამიტომ ამოღებულ Delta-ს ვეღარავინ შეცვლის
+            Delta delta = pending.remove(postId);
+            if (delta == null) {
+                continue;
+            }
+            long likes = delta.likes.sum();
+            long comments = delta.comments.sum();
+            if (likes != 0 || comments != 0) {
+                batch.add(new Object[]{likes, comments, postId});
+            }
+        }
+
+        for (int from = 0; from < batch.size(); from += batchSize) {
+            List<Object[]> chunk = batch.subList(from, Math.min(from + batchSize, batch.size()));
+            try {
+                // ტრანზაქციაში ჩავარდნილი batch მთლიანად უკან ბრუნდება და ნაწილობრივ არაფერი იწერება
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, chunk));
+            } catch (Exception e) {
+                log.error("Error flushing {} post counter deltas, retrying row by row: {}",
+                        chunk.size(), e.getMessage(), e);
+                chunk.forEach(this::flushRow);
+            }
+        }
+    }
+
+    // პირველი გაშვება მალევე სტარტის შემდეგ, რომ ავარიით დაკარგული ცვლილებები სწრაფად გასწორდეს
+    @Scheduled(fixedDelayString = "${posts.counters.reconcile-interval-ms:3600000}",
+            initialDelayString = "${posts.counters.reconcile-initial-delay-ms:60000}")
+    public synchronized void reconcile() {
+        flush();
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM posts", Long.class);
+        int repaired = 0;
+        for (long from = 0; maxId != null && from < maxId; from += reconcileChunkSize) {
+            repaired += reconcileChunk(from, from + reconcileChunkSize);
+        }
+        if (repaired > 0) {
+            log.info("Reconciled like/comment counters of {} posts", repaired);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private int reconcileChunk(long from, long to) {
+        // flush აქ ვერ გაეშვება (synchronized), ამიტომ სნეპშოტის შემდეგ delta მხოლოდ ემატება
+        List<Long> ids = new ArrayList<>();
+        List<Long> likes = new ArrayList<>();
+        List<Long> comments = new ArrayList<>();
+        pending.forEach((postId, delta) -> {
+            if (postId > from && postId <= to) {
+                ids.add(postId);
+                likes.add(delta.likes.sum());
+                comments.add(delta.comments.sum());
+            }
+        });
+        if (ids.isEmpty()) {
+            return jdbcTemplate.update(RECONCILE_SQL, from, to);
+        }
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(RECONCILE_PENDING_SQL);
+            statement.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+            statement.setArray(2, connection.createArrayOf("bigint", likes.toArray()));
+            statement.setArray(3, connection.createArrayOf("bigint", comments.toArray()));
+            statement.setLong(4, from);
+            statement.setLong(5, to);
+            return statement;
+        });
+    }
+
+    private void flushRow(Object[] row) {
+        try {
+            jdbcTemplate.update(FLUSH_SQL, row);
+        } catch (Exception e) {
+            log.error("Error flushing counter delta of post {}: {}", row[2], e.getMessage());
+            apply((Long) row[2], (Long) row[0], (Long) row[1]);
+        }
+    }
+
+    private void add(Long postId, long likes, long comments) {
+        // rollback-ის შემთხვევაში ცვლილება არ ითვლება, ხოლო commit-ის შემდეგ მწკრივი უკვე ჩანს reconcile-ის COUNT-ში
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(postId, likes, comments);
+                }
+            });
+        } else {
+            apply(postId, likes, comments);
+        }
+    }
+
+    private void apply(Long postId, long likes, long comments) {
+        pending.compute(postId, (id, delta) -> {
+            Delta current = delta == null ? new Delta() : delta;
+            current.likes.add(likes);
+            current.comments.add(comments);
+            return current;
+        });
+    }
+
+    private static final class Delta {
+        private final LongAdder likes = new LongAdder();
+        private final LongAdder comments = new LongAdder();
+    }
+}
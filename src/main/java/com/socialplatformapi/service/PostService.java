@@ -1,47 +1,113 @@
 package com.socialplatformapi.service;
 
+import com.socialplatformapi.dto.bulk.BulkItemResult;
+import com.socialplatformapi.dto.bulk.BulkResult;
 import com.socialplatformapi.dto.comment.CommentResponse;
 import com.socialplatformapi.dto.comment.CommentSummary;
+import com.socialplatformapi.dto.page.CursorPage;
+import com.socialplatformapi.dto.page.PageCursor;
+import com.socialplatformapi.dto.post.PostCacheStats;
+import com.socialplatformapi.dto.post.PostKey;
 import com.socialplatformapi.dto.post.PostRequest;
 import com.socialplatformapi.dto.post.PostResponse;
+import com.socialplatformapi.dto.post.PostView;
+import com.socialplatformapi.exception.pagination.InvalidCursorException;
 import com.socialplatformapi.exception.post.PostException;
 import com.socialplatformapi.model.Post;
 import com.socialplatformapi.model.User;
 import com.socialplatformapi.repository.PostRepository;
+import com.socialplatformapi.repository.UserRepository;
+import com.socialplatformapi.security.AuthenticatedUser;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class PostService {
 
+    private static final int FEED_PREVIEW_SIZE = 5;
+    private static final int MAX_TIMELINE_READS = 4;
+
     private final PostRepository postRepository;
+    private final UserRepository userRepository;
     private final CommentService commentService;
     private final LikeService likeService;
+    private final PostCounterService postCounterService;
+    private final PostViewCache postViewCache;
+    private final TimelineService timelineService;
+    private final SearchService searchService;
+    private final TrendingService trendingService;
+    private final BulkRequestValidator bulkRequestValidator;
+    private final DeletionService deletionService;
 
-    public PostResponse createPost(PostRequest request, User user) {
+    public PostResponse createPost(PostRequest request, AuthenticatedUser user) {
         Post post = new Post();
         post.setText(request.getText());
         post.setPostDate(LocalDateTime.now());
-        post.setPoster(user);
+        post.setPoster(userRepository.getReferenceById(user.getId()));
         Post savedPost = postRepository.save(post);
+        timelineService.onPostCreated(savedPost, user.getId());
+        searchService.postSaved(savedPost.getId(), savedPost.getText());
 
-        return PostResponse.newPostToDto(savedPost);
+        return PostResponse.newPostToDto(savedPost, user.getUsername());
     }
 
-    public PostResponse updatePost(Long postId,PostRequest request, User user) {
+    // ერთი saveAll: sequence-ის pooled id-ები და hibernate-ის batch insert-ი რამდენიმე round-trip-ში
+    public BulkResult createPosts(List<PostRequest> requests, AuthenticatedUser user) {
+        long start = System.nanoTime();
+        bulkRequestValidator.checkSize(requests);
+
+        List<BulkItemResult> results = new ArrayList<>(requests.size());
+        List<Integer> indexes = new ArrayList<>();
+        List<Post> posts = new ArrayList<>();
+        User poster = userRepository.getReferenceById(user.getId());
+        for (int i = 0; i < requests.size(); i++) {
+            String error = bulkRequestValidator.violations(requests.get(i));
+            if (error != null) {
+                results.add(BulkItemResult.failed(i, error));
+                continue;
+            }
+            Post post = new Post();
+            post.setText(requests.get(i).getText());
+            post.setPostDate(LocalDateTime.now());
+            post.setPoster(poster);
+            posts.add(post);
+            indexes.add(i);
+        }
+
+        List<Post> saved = postRepository.saveAll(posts);
+        for (int i = 0; i < saved.size(); i++) {
+            Post post = saved.get(i);
+            results.add(BulkItemResult.created(indexes.get(i), post.getId()));
+            searchService.postSaved(post.getId(), post.getText());
+        }
+        if (!saved.isEmpty()) {
+            timelineService.onPostsCreated(saved, user.getId());
+        }
+        return BulkResult.of(results, start);
+    }
+
+    public PostResponse updatePost(Long postId,PostRequest request, AuthenticatedUser user) {
         Post post = getPost(postId, user);
 
         post.setText(request.getText());
         post.setPostDate(LocalDateTime.now());
         Post savedPost = postRepository.save(post);
+        postViewCache.invalidate(postId);
+        searchService.postSaved(postId, savedPost.getText());
 
         List<CommentSummary> comments = commentService
                 .getCommentsByPost(savedPost.getId(), PageRequest.of(0,10));
@@ -49,32 +115,42 @@ public class PostService {
         List<String> likedBy = likeService
                 .getUsernamesWhoLiked(savedPost.getId(), PageRequest.of(0,10));
 
-        return PostResponse.postToDto(savedPost, comments, likedBy);
+        return toDto(savedPost, user.getUsername(), comments, likedBy);
     }
 
-    public void deletePost(Long postId, User user) {
-        Post post = getPost(postId, user);
-        postRepository.delete(post);
+    public void deletePost(Long postId, AuthenticatedUser user) {
+        Long posterId = postRepository.findPosterIdById(postId)
+                .orElseThrow(() -> new PostException("Post with id " + postId + " does not exist"));
+        checkAuthor(posterId, user);
+        deletionService.deletePost(postId);
     }
 
-    public Post getPost(Long postId, User user) {
-        Optional<Post> postOptional = postRepository.findById(postId);
-        if (postOptional.isEmpty()) {
-            throw new PostException("Post with id " + postId + " does not exist");
-        }
-        Post post = postOptional.get();
-        if (!post.getPoster().getId().equals(user.getId())) {
+    public Post getPost(Long postId, AuthenticatedUser user) {
+        Post post = postRepository.findById(postId)
+                .orElseThrow(() -> new PostException("Post with id " + postId + " does not exist"));
+        // lazy proxy-ის id ინიციალიზაციას არ იწვევს, ასე რომ users ცხრილს არ ვეკითხებით
+        checkAuthor(post.getPoster().getId(), user);
+        return post;
+    }
+
+    private static void checkAuthor(Long posterId, AuthenticatedUser user) {
+        if (!posterId.equals(user.getId())) {
             throw new PostException("You are not the author of this post");
         }
-        return post;
     }
 
     public PostResponse getPostResponse(Long postId, Pageable commentPageable, Pageable likesPageable) {
-        Optional<Post> postOptional = postRepository.findById(postId);
-        if (postOptional.isEmpty()) {
-            throw new PostException("Post with id " + postId + " does not exist");
-        }
-        Post post = postOptional.get();
+        return postViewCache.get(postId, commentPageable, likesPageable,
+                () -> loadPostResponse(postId, commentPageable, likesPageable));
+    }
+
+    public PostCacheStats getCacheStats() {
+        return postViewCache.stats();
+    }
+
+    private PostResponse loadPostResponse(Long postId, Pageable commentPageable, Pageable likesPageable) {
+        PostView post = postRepository.findViewById(postId)
+                .orElseThrow(() -> new PostException("Post with id " + postId + " does not exist"));
 
         List<CommentSummary> comments = commentService
                 .getCommentsByPost(post.getId(), commentPageable);
@@ -82,36 +158,112 @@ public class PostService {
         List<String> likedBy = likeService
                 .getUsernamesWhoLiked(post.getId(), likesPageable);
 
-        return PostResponse.postToDto(post, comments, likedBy);
+        return toDto(post, comments, likedBy);
     }
 
     public List<PostResponse> getAllPosts(Pageable pageable) {
-        List<Post> postList = postRepository
-                .findAllBy(pageable)
-                .stream()
-                .toList();
-
-        return getPostResponses(postList);
+        return getPostResponses(postRepository.findViews(pageable));
     }
 
     public List<PostResponse> getPostsByUser(String username, Pageable pageable) {
-        List<Post> postList = postRepository
-                .findAllByPosterUsername(username, pageable)
+        return getPostResponses(postRepository.findViewsByPosterUsername(username, pageable));
+    }
+
+    public List<PostResponse> getAllPostsAfter(Long afterId, int size) {
+        return getPostResponses(postRepository.findViewsAfter(afterId,
+                PageRequest.of(0, size, Sort.Direction.ASC, "id")));
+    }
+
+    public List<PostResponse> getPostsByUserAfter(String username, Long afterId, int size) {
+        return getPostResponses(postRepository.findViewsByPosterUsernameAfter(username, afterId,
+                PageRequest.of(0, size, Sort.Direction.ASC, "id")));
+    }
+
+    // ტაიმლაინში წაშლილი პოსტებიც შეიძლება იყოს: გვერდს ვავსებთ და კურსორი ბოლო წაკითხული ჩანაწერიდან იწყება
+    public CursorPage<PostResponse> getTimeline(AuthenticatedUser user, PageCursor before, int size) {
+        LocalDateTime beforeDate = before == null ? null : parsePostDate(before.requireKey().key());
+        Long beforeId = before == null ? null : before.id();
+        List<PostResponse> posts = new ArrayList<>(size);
+        PostKey last = null;
+        for (int read = 0; read < MAX_TIMELINE_READS && posts.size() < size; read++) {
+            int wanted = size - posts.size();
+            List<PostKey> keys = timelineService.getTimelineKeys(user.getId(), beforeDate, beforeId, wanted);
+            if (!keys.isEmpty()) {
+                posts.addAll(getPostsByIds(keys.stream().map(PostKey::getId).toList()));
+                last = keys.get(keys.size() - 1);
+                beforeDate = last.getPostDate();
+                beforeId = last.getId();
+            }
+            if (keys.size() < wanted) {
+                return new CursorPage<>(posts, null);
+            }
+        }
+        return new CursorPage<>(posts, PageCursor.of(last.getPostDate().toString(), last.getId()));
+    }
+
+    public List<PostResponse> searchPosts(String query, int limit) {
+        List<Long> ids = searchService.searchPosts(query, limit);
+        List<PostResponse> found = getPostsByIds(ids);
+        if (found.size() < ids.size()) {
+            Set<Long> foundIds = found.stream().map(PostResponse::getPostId).collect(Collectors.toSet());
+            searchService.forgetPosts(ids.stream().filter(id -> !foundIds.contains(id)).toList());
+        }
+        return found;
+    }
+
+    public List<PostResponse> getTrendingPosts(String window, int limit) {
+        return getPostsByIds(trendingService.getTrendingPostIds(window, limit));
+    }
+
+    // ids-ის რიგს ინარჩუნებს; წაშლილი პოსტები უბრალოდ გამოტოვებულია
+    public List<PostResponse> getPostsByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, PostView> posts = postRepository.findViewsByIdIn(ids)
                 .stream()
-                .toList();
+                .collect(Collectors.toMap(PostView::getId, Function.identity()));
 
-        return getPostResponses(postList);
+        return getPostResponses(ids.stream()
+                .map(posts::get)
+                .filter(Objects::nonNull)
+                .toList());
     }
 
-    public List<PostResponse> getPostResponses(List<Post> postList) {
+    public List<PostResponse> getPostResponses(List<PostView> postList) {
+        // N+1-ის ნაცვლად: მთელი გვერდის კომენტარები და ლაიქები ორი query-თ
+        List<Long> postIds = postList.stream().map(PostView::getId).toList();
+        Map<Long, List<CommentSummary>> comments =
+                commentService.getTopCommentsByPosts(postIds, FEED_PREVIEW_SIZE);
+        Map<Long, List<String>> likedBy =
+                likeService.getTopLikersByPosts(postIds, FEED_PREVIEW_SIZE);
+
         List<PostResponse> postResponseList = new ArrayList<>();
-        for (Post post : postList) {
-            List<CommentSummary> comments =
-                    commentService.getCommentsByPost(post.getId(), PageRequest.of(0, 5));
-            List<String> likedBy =
-                    likeService.getUsernamesWhoLiked(post.getId(), PageRequest.of(0,5));
-            postResponseList.add(PostResponse.postToDto(post, comments, likedBy));
+        for (PostView post : postList) {
+            postResponseList.add(toDto(post,
+                    comments.getOrDefault(post.getId(), List.of()),
+                    likedBy.getOrDefault(post.getId(), List.of())));
         }
         return postResponseList;
     }
+
+    private LocalDateTime parsePostDate(String key) {
+        try {
+            return LocalDateTime.parse(key);
+        } catch (DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor key '" + key + "'");
+        }
+    }
+
+    private PostResponse toDto(Post post, String authorUsername, List<CommentSummary> comments, List<String> likedBy) {
+        return PostResponse.postToDto(post, authorUsername, comments, likedBy,
+                post.getLikeCount() + postCounterService.pendingLikes(post.getId()),
+                post.getCommentCount() + postCounterService.pendingComments(post.getId()));
+    }
+
+    private PostResponse toDto(PostView post, List<CommentSummary> comments, List<String> likedBy) {
+        return PostResponse.postViewToDto(post, comments, likedBy,
+                post.getLikeCount() + postCounterService.pendingLikes(post.getId()),
+                post.getCommentCount() + postCounterService.pendingComments(post.getId()));
+    }
 }
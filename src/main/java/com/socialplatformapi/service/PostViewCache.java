@@ -0,0 +1,83 @@
+package com.socialplatformapi.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.socialplatformapi.dto.post.PostCacheStats;
+import com.socialplatformapi.dto.post.PostResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Assembled GET /posts/{id} views. Entries are grouped per post so a write can drop
+ * every page of that post at once; a reader that raced with the write can only
+ * have filled the detached group, never the one later readers see.
+ */
+@Service
+public class PostViewCache {
+
+    private final Cache<Long, PostViews> views;
+    private final int maxPagesPerPost;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public PostViewCache(@Value("${posts.view-cache.max-posts:10000}") long maxPosts,
+                         @Value("${posts.view-cache.max-pages-per-post:8}") int maxPagesPerPost) {
+        this.maxPagesPerPost = maxPagesPerPost;
+        this.views = Caffeine.newBuilder()
+                .maximumSize(maxPosts)
+                .recordStats()
+                .build();
+    }
+
+    public PostResponse get(Long postId, Pageable commentPage, Pageable likePage, Supplier<PostResponse> loader) {
+        PostViews postViews = views.get(postId, id -> new PostViews());
+        PageKey key = new PageKey(commentPage.getPageNumber(), commentPage.getPageSize(),
+                likePage.getPageNumber(), likePage.getPageSize());
+
+        PostResponse cached = postViews.pages.get(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        PostResponse loaded = loader.get();
+        if (postViews.pages.size() < maxPagesPerPost) {
+            postViews.pages.putIfAbsent(key, loaded);
+        }
+        return loaded;
+    }
+
+    // ჩაწერის დასრულების შემდეგ უნდა გამოიძახონ, რომ შემდეგმა წაკითხვამ ახალი მონაცემი ნახოს
+    public void invalidate(Long postId) {
+        views.invalidate(postId);
+        invalidations.increment();
+    }
+
+    public PostCacheStats stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+        return new PostCacheStats(
+                hitCount,
+                missCount,
+                total == 0 ? 0 : (double) hitCount / total,
+                views.stats().evictionCount(),
+                invalidations.sum(),
+                views.estimatedSize()
+        );
+    }
+
+    private static final class PostViews {
+        private final Map<PageKey, PostResponse> pages = new ConcurrentHashMap<>();
+    }
+
+    private record PageKey(int commentPage, int commentSize, int likePage, int likeSize) {
+    }
+}
@@ -2,13 +2,14 @@ package com.socialplatformapi.service;
 
 
 import com.socialplatformapi.client.ReqresClient;
+import com.socialplatformapi.dto.external.ReqresImportStats;
 import com.socialplatformapi.dto.external.ReqresResponse;
 import com.socialplatformapi.dto.external.ReqresUser;
 import com.socialplatformapi.model.User;
 import com.socialplatformapi.repository.UserRepository;
 import jakarta.annotation.PreDestroy;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -16,80 +17,210 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Imports reqres.in users in the background after startup. Once the first page gives
+ * totalPages, the remaining pages are fetched concurrently while earlier pages are
+ * stored: one IN-list query finds the emails that already exist, and the new users
+ * of a page go in with a single batched saveAll.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class ReqresService {
 
+    private static final String PLACEHOLDER_PASSWORD = "jgufuridavaleba6";
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final ReqresClient reqresClient;
-    private final List<Long> reqresUserIds = new ArrayList<>();
+    private final DeletionService deletionService;
+    private final List<Long> reqresUserIds = Collections.synchronizedList(new ArrayList<>());
+    private final ExecutorService importer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "reqres-import");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService fetchers;
+
+    private volatile String status = "IDLE";
+    private volatile long startedAt;
+    private volatile long finishedAt;
+    private volatile int totalPages;
+    private final AtomicInteger pagesFetched = new AtomicInteger();
+    private final LongAdder fetched = new LongAdder();
+    private final LongAdder imported = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public ReqresService(UserRepository userRepository,
+                         PasswordEncoder passwordEncoder,
+                         ReqresClient reqresClient,
+                         DeletionService deletionService,
+                         @Value("${reqres.import.fetch-threads:4}") int fetchThreads) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.reqresClient = reqresClient;
+        this.deletionService = deletionService;
+        // Java 17-ზე virtual thread-ები არ გვაქვს; გვერდების მოთხოვნას მცირე pool ემსახურება
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.fetchers = Executors.newFixedThreadPool(fetchThreads, r -> {
+            Thread thread = new Thread(r, "reqres-fetch-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
 
+    // იმპორტი ფონურად მიმდინარეობს და აპლიკაციის მზადყოფნას არ აყოვნებს
     @EventListener(ApplicationReadyEvent.class)
     public void fetchAndSaveReqresUsers() {
+        importer.execute(this::importUsers);
+    }
+
+    public ReqresImportStats getImportStats() {
+        long end = finishedAt != 0 ? finishedAt : System.currentTimeMillis();
+        long elapsed = startedAt == 0 ? 0 : end - startedAt;
+        long count = imported.sum();
+        return new ReqresImportStats(status, pagesFetched.get(), totalPages,
+                fetched.sum(), count, skipped.sum(), failed.sum(),
+                elapsed, elapsed == 0 ? 0 : count * 1000.0 / elapsed);
+    }
+
+    private void importUsers() {
+        startedAt = System.currentTimeMillis();
+        status = "RUNNING";
         try {
             log.info("Fetching users from reqres.in...");
 
-            // პირველი გვერდის მოთხოვნა
-            ReqresResponse response = reqresClient.getUsers(null);
-
-            if (response != null && response.getData() != null) {
-                saveReqresUsers(response.getData());
+            // პირველი გვერდიდან ვიგებთ გვერდების რაოდენობას
+            ReqresResponse first = reqresClient.getUsers(null);
+            if (first == null || first.getData() == null) {
+                status = "DONE";
+                return;
+            }
+            pageFetched(first);
+            totalPages = first.getTotalPages();
 
-                // დარჩენილი გვერდების მოთხოვნა
-                for (int page = 2; page <= response.getTotalPages(); page++) {
-                    ReqresResponse pageResponse = reqresClient.getUsers(page);
+            List<CompletableFuture<ReqresResponse>> pages = new ArrayList<>();
+            for (int page = 2; page <= first.getTotalPages(); page++) {
+                int number = page;
+                pages.add(CompletableFuture.supplyAsync(() -> pageFetched(reqresClient.getUsers(number)), fetchers));
+            }
 
-                    if (pageResponse != null && pageResponse.getData() != null) {
-                        saveReqresUsers(pageResponse.getData());
+            // ერთხელ ჰეშირებული დროებითი პაროლი ყველა იმპორტირებულ მომხმარებელს ეზიარება
+            String placeholderHash = passwordEncoder.encode(PLACEHOLDER_PASSWORD);
+            saveReqresUsers(first.getData(), placeholderHash);
+            for (CompletableFuture<ReqresResponse> page : pages) {
+                try {
+                    ReqresResponse response = page.join();
+                    if (response != null && response.getData() != null) {
+                        saveReqresUsers(response.getData(), placeholderHash);
                     }
+                } catch (Exception e) {
+                    log.error("Error fetching a page from reqres.in: {}", e.getMessage());
                 }
-
-                log.info("Successfully imported {} users from reqres.in", reqresUserIds.size());
             }
 
+            status = "DONE";
+            log.info("Successfully imported {} users from reqres.in in {} ms",
+                    imported.sum(), System.currentTimeMillis() - startedAt);
         } catch (Exception e) {
+            status = "FAILED";
             log.error("Error fetching users from reqres.in: {}", e.getMessage(), e);
+        } finally {
+            finishedAt = System.currentTimeMillis();
+        }
+    }
+
+    private ReqresResponse pageFetched(ReqresResponse response) {
+        if (response != null && response.getData() != null) {
+            pagesFetched.incrementAndGet();
+            fetched.add(response.getData().size());
         }
+        return response;
     }
 
-    private void saveReqresUsers(List<ReqresUser> reqresUsers) {
-        for (ReqresUser reqresUser : reqresUsers) {
-            try {
-                // რექრესიდან წამოღებულ იუზერებს შევინახავ ჩემი მოთხოვნების და ქონსთრეინთების მიხედვით
-                if (!userRepository.existsByEmail(reqresUser.getEmail())) {
-                    User user = new User();
-                    user.setFirstName(reqresUser.getFirstName())
-                            .setLastName(reqresUser.getLastName())
-                            .setUsername(reqresUser.getEmail()) //როგორც იყო მოთხოვნაში
-                            .setEmail(reqresUser.getEmail())
-                            .setBirthDate(LocalDate.now().minusYears(18)) //დროებითი birthdate;
-                            .setPassword(passwordEncoder.encode("jgufuridavaleba6")); // დროებითი პაროლი
-
-                    userRepository.save(user);
-                    reqresUserIds.add(user.getId());
-
-                    log.debug("Saved reqres user: {}", reqresUser.getEmail());
+    private void saveReqresUsers(List<ReqresUser> reqresUsers, String placeholderHash) {
+        Map<String, ReqresUser> byEmail = new LinkedHashMap<>();
+        reqresUsers.forEach(u -> byEmail.putIfAbsent(u.getEmail(), u));
+        Set<String> existing = new HashSet<>(userRepository.findExistingEmails(byEmail.keySet()));
+        skipped.add(reqresUsers.size() - byEmail.size() + existing.size());
+
+        List<User> users = new ArrayList<>();
+        for (ReqresUser reqresUser : byEmail.values()) {
+            if (existing.contains(reqresUser.getEmail())) {
+                continue;
+            }
+            // რექრესიდან წამოღებულ იუზერებს შევინახავ ჩემი მოთხოვნების და ქონსთრეინთების მიხედვით
+            User user = new User();
+            user.setFirstName(reqresUser.getFirstName())
+                    .setLastName(reqresUser.getLastName())
+                    .setUsername(reqresUser.getEmail()) //როგორც იყო მოთხოვნაში
+                    .setEmail(reqresUser.getEmail())
+                    .setBirthDate(LocalDate.now().minusYears(18)) //დროებითი birthdate;
+                    .setPassword(placeholderHash); // დროებითი პაროლი
+            users.add(user);
+        }
+        if (users.isEmpty()) {
+            return;
+        }
+
+        try {
+            userRepository.saveAll(users).forEach(this::imported);
+        } catch (Exception e) {
+            // batch-ის ერთმა ჩანაწერმა ჩააგდო (მაგ. დაკავებული username): დანარჩენს ცალ-ცალკე ვინახავთ
+            log.warn("Batch insert of {} reqres users failed, saving one by one: {}", users.size(), e.getMessage());
+            for (User user : users) {
+                try {
+                    user.setId(null);
+                    imported(userRepository.save(user));
+                } catch (Exception ex) {
+                    failed.increment();
+                    log.error("Error saving reqres user {}: {}", user.getEmail(), ex.getMessage());
                 }
-            } catch (Exception e) {
-                log.error("Error saving reqres user {}: {}", reqresUser.getEmail(), e.getMessage());
             }
         }
     }
 
+    private void imported(User user) {
+        reqresUserIds.add(user.getId());
+        imported.increment();
+        log.debug("Saved reqres user: {}", user.getEmail());
+    }
+
     @PreDestroy
     public void cleanupReqresUsers() {
+        fetchers.shutdownNow();
+        importer.shutdownNow();
+        try {
+            // მიმდინარე batch-ს ვაცლით დასრულებას, რომ მისი id-ებიც წაიშალოს
+            importer.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
         try {
             if (!reqresUserIds.isEmpty()) {
                 log.info("Cleaning up {} reqres users...", reqresUserIds.size());
-                userRepository.deleteAllById(reqresUserIds);
+                List<Long> ids;
+                synchronized (reqresUserIds) {
+                    ids = new ArrayList<>(reqresUserIds);
+                }
+                ids.forEach(deletionService::deleteUser);
                 log.info("Successfully cleaned up reqres users");
             }
         } catch (Exception e) {
             log.error("Error cleaning up reqres users: {}", e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,220 @@
+package com.socialplatformapi.service;
+
+import com.socialplatformapi.dto.search.IndexedText;
+import com.socialplatformapi.exception.overload.OverloadException;
+import com.socialplatformapi.repository.CommentRepository;
+import com.socialplatformapi.repository.PostRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Full-text search over post and comment texts. The indexes are kept current by the
+ * post/comment services and saved as segment files; on startup a segment is loaded
+ * only if it was built from the same table generation, then rows added, edited
+ * (updated_at) or deleted since it was written are caught up from the database.
+ * Without a usable segment the index is rebuilt in parallel id ranges.
+ */
+@Slf4j
+@Service
+public class SearchService {
+
+    private static final Duration CATCH_UP_MARGIN = Duration.ofMinutes(5);
+
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final FullTextIndex posts = new FullTextIndex();
+    private final FullTextIndex comments = new FullTextIndex();
+    private final Path indexDir;
+    private final int rebuildThreads;
+    private final int rebuildChunkSize;
+    private volatile boolean ready;
+    private volatile long postsGeneration;
+    private volatile long commentsGeneration;
+
+    public SearchService(PostRepository postRepository,
+                         CommentRepository commentRepository,
+                         @Value("${search.index-dir:./search-index}") Path indexDir,
+                         @Value("${search.rebuild-threads:4}") int rebuildThreads,
+                         @Value("${search.rebuild-chunk-size:5000}") int rebuildChunkSize) {
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.indexDir = indexDir;
+        this.rebuildThreads = rebuildThreads;
+        this.rebuildChunkSize = rebuildChunkSize;
+    }
+
+    public void postSaved(Long postId, String text) {
+        posts.put(postId, text);
+    }
+
+    public void postDeleted(Long postId) {
+        posts.remove(postId);
+    }
+
+    public void commentSaved(Long commentId, String text) {
+        comments.put(commentId, text);
+    }
+
+    public void commentDeleted(Long commentId) {
+        comments.remove(commentId);
+    }
+
+    public List<Long> searchPosts(String query, int limit) {
+        requireReady();
+        return posts.search(query, limit);
+    }
+
+    public List<Long> searchComments(String query, int limit) {
+        requireReady();
+        return comments.search(query, limit);
+    }
+
+    // ბაზაში აღარ არსებული id-ები (მაგ. პოსტთან ერთად წაშლილი კომენტარები) ინდექსიდანაც ქრება
+    public void forgetPosts(Collection<Long> postIds) {
+        postIds.forEach(posts::remove);
+    }
+
+    public void forgetComments(Collection<Long> commentIds) {
+        commentIds.forEach(comments::remove);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        Thread loader = new Thread(() -> {
+            try {
+                postsGeneration = postRepository.findTableGeneration();
+                commentsGeneration = commentRepository.findTableGeneration();
+                load(posts, "posts", postsGeneration, postRepository::findMaxId, postRepository::findTextsInRange,
+                        postRepository::findTextsUpdatedSince, postRepository::findIdsInRange);
+                load(comments, "comments", commentsGeneration, commentRepository::findMaxId,
+                        commentRepository::findTextsInRange, commentRepository::findTextsUpdatedSince,
+                        commentRepository::findIdsInRange);
+                ready = true;
+            } catch (Exception e) {
+                log.error("Error loading search index: {}", e.getMessage(), e);
+            }
+        }, "search-index-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    @Scheduled(fixedDelayString = "${search.persist-interval-ms:60000}")
+    public synchronized void persist() {
+        if (!ready) {
+            return;
+        }
+        try {
+            Files.createDirectories(indexDir);
+            posts.writeSegment(indexDir.resolve("posts.seg"), postsGeneration);
+            comments.writeSegment(indexDir.resolve("comments.seg"), commentsGeneration);
+        } catch (IOException e) {
+            log.error("Error writing search index segments: {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void persistOnShutdown() {
+        persist();
+    }
+
+    private void load(FullTextIndex index, String name, long generation, Supplier<Long> maxId,
+                      BiFunction<Long, Long, List<IndexedText>> textsInRange,
+                      Function<LocalDateTime, List<IndexedText>> textsUpdatedSince,
+                      BiFunction<Long, Long, List<Long>> idsInRange) throws Exception {
+        long started = System.currentTimeMillis();
+        Optional<FullTextIndex.Segment> segment = Optional.empty();
+        try {
+            segment = index.readSegment(indexDir.resolve(name + ".seg"), generation);
+        } catch (IOException e) {
+            log.warn("Search segment for {} is unreadable, rebuilding: {}", name, e.getMessage());
+        }
+
+        // სეგმენტის შემდეგ დამატებული ჩანაწერები (ან ყველაფერი, თუ სეგმენტი არ არის)
+        long from = segment.map(FullTextIndex.Segment::maxDocId).orElse(0L);
+        long to = maxId.get();
+        inChunks(from, to, (lower, upper) ->
+                textsInRange.apply(lower, upper).forEach(row -> index.put(row.getId(), row.getText())));
+
+        if (segment.isPresent()) {
+            // სეგმენტის შემდეგ შეცვლილი ტექსტები; მარჟა ნოდების საათებს შორის სხვაობას ფარავს
+            LocalDateTime since = LocalDateTime.ofInstant(
+                    segment.get().writtenAt().minus(CATCH_UP_MARGIN), ZoneId.systemDefault());
+            List<IndexedText> changed = textsUpdatedSince.apply(since);
+            changed.forEach(row -> index.put(row.getId(), row.getText()));
+
+            // სეგმენტის შემდეგ წაშლილი (ან tombstone-ით დამალული) ჩანაწერები
+            long[] segmentIds = segment.get().ids().toArray();
+            LongAdder pruned = new LongAdder();
+            inChunks(0, from, (lower, upper) -> {
+                Set<Long> existing = new HashSet<>(idsInRange.apply(lower, upper));
+                int i = lowerBound(segmentIds, lower + 1);
+                for (; i < segmentIds.length && segmentIds[i] <= upper; i++) {
+                    if (!existing.contains(segmentIds[i])) {
+                        index.remove(segmentIds[i]);
+                        pruned.increment();
+                    }
+                }
+            });
+            log.info("Search index for {}: {} changed and {} deleted rows caught up since the segment",
+                    name, changed.size(), pruned.sum());
+        }
+        log.info("Search index for {} ready in {} ms (segment: {}, ids {}..{} read from database)",
+                name, System.currentTimeMillis() - started, segment.isPresent(), from, to);
+    }
+
+    // (lower, upper] შუალედები პარალელურად
+    private void inChunks(long from, long to, BiConsumer<Long, Long> chunk) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(rebuildThreads);
+        try {
+            List<Future<?>> chunks = new ArrayList<>();
+            for (long chunkStart = from; chunkStart < to; chunkStart += rebuildChunkSize) {
+                long lower = chunkStart;
+                long upper = Math.min(chunkStart + rebuildChunkSize, to);
+                chunks.add(executor.submit(() -> chunk.accept(lower, upper)));
+            }
+            for (Future<?> future : chunks) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static int lowerBound(long[] sorted, long value) {
+        int index = Arrays.binarySearch(sorted, value);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private void requireReady() {
+        if (!ready) {
+            throw new OverloadException("Search index is still loading", 5);
+        }
+    }
+}
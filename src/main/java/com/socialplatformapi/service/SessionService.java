@@ -1,30 +1,51 @@
 package com.socialplatformapi.service;
 
+import com.socialplatformapi.dto.session.SessionStats;
 import com.socialplatformapi.model.User;
+import com.socialplatformapi.repository.UserRepository;
+import com.socialplatformapi.service.session.SessionRecord;
+import com.socialplatformapi.service.session.SessionStore;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
+@AllArgsConstructor
 @Service
 public class SessionService {
 
-    private final Map<String, User> sessions = new ConcurrentHashMap<>();
+    private final SessionStore sessionStore;
+    private final UserRepository userRepository;
+
+    @PostConstruct
+    public void bindUserTable() {
+        Long generation = userRepository.findTableGeneration();
+        if (generation != null) {
+            sessionStore.bindUserTable(generation);
+        }
+    }
 
     public String createSession(User user) {
-        String token = UUID.randomUUID().toString();
-        sessions.put(token, user);
-        return token;
+        return sessionStore.create(user.getId(), user.getUsername());
     }
 
-    public Optional<User> getUserByToken(String token) {
+    public Optional<SessionRecord> findSession(String token) {
         if (token == null) return Optional.empty();
-        return Optional.ofNullable(sessions.get(token));
+        return sessionStore.find(token);
+    }
+
+    public boolean isSelfContained() {
+        return sessionStore.isSelfContained();
     }
 
     public void invalidate(String token) {
-        sessions.remove(token);
+        if (token != null) {
+            sessionStore.remove(token);
+        }
+    }
+
+    public SessionStats getStats() {
+        return sessionStore.stats();
     }
 }
@@ -0,0 +1,198 @@
+package com.socialplatformapi.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.socialplatformapi.dto.post.PostKey;
+import com.socialplatformapi.model.Post;
+import com.socialplatformapi.repository.FollowRepository;
+import com.socialplatformapi.repository.PostRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Home timelines, newest first by (post_date, id). Ordinary accounts fan out on write:
+ * a new post is pushed into the ring of every follower whose timeline is materialized.
+ * Accounts with more than celebrity-threshold followers are fanned out on read instead,
+ * so one of their posts costs a single query per timeline read rather than a write per
+ * follower. Follower counts behind that decision are cached per author, adjusted on
+ * follow and unfollow, and re-read from the database after timeline.max-staleness.
+ * <p>
+ * Timelines live in this node's memory and fan-out only reaches timelines on the node
+ * that handled the post. With several nodes a timeline is therefore rebuilt from the
+ * database at most timeline.max-staleness after it was built, which bounds how late
+ * posts (and follows) made on other nodes show up.
+ */
+@Service
+public class TimelineService {
+
+    private static final Comparator<Entry> NEWEST_FIRST =
+            Comparator.comparing(Entry::postDate).thenComparingLong(Entry::id).reversed();
+
+    private final FollowRepository followRepository;
+    private final PostRepository postRepository;
+    private final Cache<Long, Timeline> timelines;
+    private final Cache<Long, Long> followerCounts;
+    private final Set<Long> celebrities = ConcurrentHashMap.newKeySet();
+    private final int capacity;
+    private final long celebrityThreshold;
+
+    public TimelineService(FollowRepository followRepository,
+                           PostRepository postRepository,
+                           @Value("${timeline.capacity:200}") int capacity,
+                           @Value("${timeline.max-users:100000}") long maxUsers,
+                           @Value("${timeline.celebrity-threshold:10000}") long celebrityThreshold,
+                           @Value("${timeline.max-staleness:1m}") Duration maxStaleness) {
+        this.followRepository = followRepository;
+        this.postRepository = postRepository;
+        this.capacity = capacity;
+        this.celebrityThreshold = celebrityThreshold;
+        // ვადა აგებიდან ითვლება: fan-out-ის push-ი მას არ აგრძელებს
+        this.timelines = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfter(Expiry.creating((Long userId, Timeline timeline) -> maxStaleness))
+                .build();
+        // ყოველ პოსტზე COUNT-ის ნაცვლად; სხვა ნოდზე follow-ები მაქსიმუმ max-staleness-ში აისახება
+        this.followerCounts = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(maxStaleness)
+                .build();
+    }
+
+    public void onPostCreated(Post post, Long posterId) {
+        onPostsCreated(List.of(post), posterId);
+    }
+
+    // ერთი ავტორის რამდენიმე პოსტი: follower-ების სია ერთხელ იკითხება
+    public void onPostsCreated(List<Post> posts, Long posterId) {
+        List<Entry> entries = posts.stream().map(p -> new Entry(p.getId(), p.getPostDate())).toList();
+        entries.forEach(entry -> push(posterId, entry));
+
+        if (followerCounts.get(posterId, followRepository::countByFolloweeId) > celebrityThreshold) {
+            celebrities.add(posterId);
+            return;
+        }
+        celebrities.remove(posterId);
+
+        // მხოლოდ უკვე აგებულ ტაიმლაინებში ვწერთ, დანარჩენი წაკითხვისას აიგება ბაზიდან
+        for (Long followerId : followRepository.findFollowerIds(posterId)) {
+            entries.forEach(entry -> push(followerId, entry));
+        }
+    }
+
+    public void onFollowersChanged(Long followeeId, long delta) {
+        followerCounts.asMap().computeIfPresent(followeeId, (id, count) -> Math.max(0, count + delta));
+    }
+
+    // უახლესიდან ძველისკენ; beforeDate == null ნიშნავს პირველ გვერდს
+    public List<PostKey> getTimelineKeys(Long userId, LocalDateTime beforeDate, Long beforeId, int limit) {
+        Timeline timeline = timelines.get(userId, this::rebuild);
+
+        TreeSet<Entry> entries = new TreeSet<>(NEWEST_FIRST);
+        entries.addAll(timeline.snapshot());
+
+        List<Long> followedCelebrities = timeline.followees.stream()
+                .filter(celebrities::contains)
+                .toList();
+        if (!followedCelebrities.isEmpty()) {
+            postRepository.findRecentKeysByPosterIds(followedCelebrities, PageRequest.of(0, capacity))
+                    .forEach(key -> entries.add(Entry.of(key)));
+        }
+
+        Iterable<Entry> page = beforeDate == null
+                ? entries
+                : entries.tailSet(new Entry(beforeId, beforeDate), false);
+        List<PostKey> keys = new ArrayList<>(limit);
+        for (Entry entry : page) {
+            keys.add(entry);
+            if (keys.size() == limit) {
+                break;
+            }
+        }
+        return keys;
+    }
+
+    public void evict(Long userId) {
+        timelines.invalidate(userId);
+    }
+
+    private void push(Long userId, Entry entry) {
+        // computeIfPresent ელოდება მიმდინარე rebuild-ს, ასე რომ ახალი პოსტი არ იკარგება
+        timelines.asMap().computeIfPresent(userId, (id, timeline) -> {
+            timeline.push(entry);
+            return timeline;
+        });
+    }
+
+    private Timeline rebuild(Long userId) {
+        Set<Long> followees = new HashSet<>(followRepository.findFolloweeIds(userId));
+        Set<Long> posters = new HashSet<>(followees);
+        posters.add(userId);
+
+        Timeline timeline = new Timeline(capacity, followees);
+        List<PostKey> recent = postRepository.findRecentKeysByPosterIds(posters, PageRequest.of(0, capacity));
+        for (int i = recent.size() - 1; i >= 0; i--) {
+            timeline.push(Entry.of(recent.get(i)));
+        }
+        return timeline;
+    }
+
+    private record Entry(long id, LocalDateTime postDate) implements PostKey {
+        // ბაზა მიკროწამებს ინახავს; ასე ახალი და ბაზიდან წაკითხული ჩანაწერი ერთნაირად შედარდება
+        Entry {
+            postDate = postDate.truncatedTo(ChronoUnit.MICROS);
+        }
+
+        static Entry of(PostKey key) {
+            return new Entry(key.getId(), key.getPostDate());
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public LocalDateTime getPostDate() {
+            return postDate;
+        }
+    }
+
+    private static final class Timeline {
+        private final Entry[] ring;
+        private final Set<Long> followees;
+        private int next;
+        private int size;
+
+        private Timeline(int capacity, Set<Long> followees) {
+            this.ring = new Entry[capacity];
+            this.followees = followees;
+        }
+
+        synchronized void push(Entry entry) {
+            ring[next] = entry;
+            next = (next + 1) % ring.length;
+            size = Math.min(size + 1, ring.length);
+        }
+
+        synchronized List<Entry> snapshot() {
+            List<Entry> entries = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                entries.add(ring[(next - 1 - i + ring.length) % ring.length]);
+            }
+            return entries;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.socialplatformapi.service;
+
+import com.socialplatformapi.exception.post.PostException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Heavy hitters over sliding windows of likes and comments. Every window is split
+ * into time buckets, each with its own count-min sketch; a running sum of the live
+ * buckets answers "how many events in the window" and an expiring bucket is simply
+ * subtracted. Recording an event only increments atomic sketch cells and marks the
+ * post as touched, so the like/comment paths never wait on a lock. A scheduled
+ * refresh rotates buckets and re-ranks the touched posts together with the current
+ * top K through a size-K min-heap; reads return that ranking, so memory is fixed and
+ * a read costs O(K) no matter how many posts exist.
+ */
+@Service
+public class TrendingService {
+
+    private final Map<Duration, SlidingWindow> windows = new LinkedHashMap<>();
+    private final Clock clock;
+
+    public TrendingService(@Value("${trending.windows:1h,1d}") List<Duration> windowSizes,
+                           @Value("${trending.buckets-per-window:60}") int buckets,
+                           @Value("${trending.sketch-depth:4}") int depth,
+                           @Value("${trending.sketch-width:2048}") int width,
+                           @Value("${trending.top-k:100}") int topK,
+                           @Value("${trending.max-touched:100000}") int maxTouched) {
+        this(windowSizes, buckets, depth, width, topK, maxTouched, Clock.systemUTC());
+    }
+
+    TrendingService(List<Duration> windowSizes, int buckets, int depth, int width, int topK, int maxTouched,
+                    Clock clock) {
+        this.clock = clock;
+        long now = clock.millis();
+        for (Duration size : windowSizes) {
+            windows.put(size, new SlidingWindow(size.toMillis() / buckets, buckets, depth, width, topK, maxTouched, now));
+        }
+    }
+
+    public void record(Long postId) {
+        for (SlidingWindow window : windows.values()) {
+            window.record(postId);
+        }
+    }
+
+    public List<Long> getTrendingPostIds(String window, int limit) {
+        SlidingWindow sliding = windows.get(parseWindow(window));
+        if (sliding == null) {
+            throw new PostException("Unsupported trending window '" + window + "', use one of " + windows.keySet());
+        }
+        return sliding.top(limit);
+    }
+
+    // bucket-ის სიზუსტე refresh-ის ინტერვალითაა შეზღუდული, ამიტომ ის bucket-ზე გაცილებით მოკლე უნდა იყოს
+    @Scheduled(fixedDelayString = "${trending.refresh-interval-ms:1000}")
+    public void refresh() {
+        long now = clock.millis();
+        for (SlidingWindow window : windows.values()) {
+            window.refresh(now);
+        }
+    }
+
+    private Duration parseWindow(String window) {
+        try {
+            return DurationStyle.detectAndParse(window);
+        } catch (IllegalArgumentException e) {
+            throw new PostException("Invalid trending window '" + window + "'");
+        }
+    }
+
+    private static final class SlidingWindow {
+        private static final long[] SEEDS = {
+                0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+                0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x27D4EB2F165667C5L, 0x94D049BB133111EBL
+        };
+
+        private final long bucketMillis;
+        private final AtomicLongArray[] buckets;
+        private final AtomicLongArray total;
+        private final int depth;
+        private final int width;
+        private final int topK;
+        private final int maxTouched;
+        // refresh-მდე შეხებული პოსტები; ჩაწერისას lock არ სჭირდება
+        private final Set<Long> touched = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger touchedCount = new AtomicInteger();
+        private volatile int current;
+        private volatile List<Long> ranking = List.of();
+        // მხოლოდ refresh-ის ნაკადი ცვლის
+        private Set<Long> candidates = new HashSet<>();
+        private long currentStart;
+
+        private SlidingWindow(long bucketMillis, int bucketCount, int depth, int width, int topK, int maxTouched,
+                              long now) {
+            this.bucketMillis = Math.max(1, bucketMillis);
+            this.depth = Math.min(depth, SEEDS.length);
+            this.width = width;
+            this.buckets = new AtomicLongArray[bucketCount];
+            for (int i = 0; i < bucketCount; i++) {
+                buckets[i] = new AtomicLongArray(this.depth * width);
+            }
+            this.total = new AtomicLongArray(this.depth * width);
+            this.topK = topK;
+            this.maxTouched = maxTouched;
+            this.currentStart = now - now % this.bucketMillis;
+        }
+
+        void record(long postId) {
+            AtomicLongArray bucket = buckets[current];
+            for (int d = 0; d < depth; d++) {
+                int cell = cell(postId, d);
+                bucket.incrementAndGet(cell);
+                total.incrementAndGet(cell);
+            }
+            // ლიმიტს ზემოთ ახალი პოსტები შემდეგ refresh-მდე აღარ ფასდება
+            if (!touched.contains(postId) && touchedCount.get() < maxTouched && touched.add(postId)) {
+                touchedCount.incrementAndGet();
+            }
+        }
+
+        List<Long> top(int limit) {
+            List<Long> snapshot = ranking;
+            return snapshot.size() <= limit ? snapshot : snapshot.subList(0, limit);
+        }
+
+        synchronized void refresh(long now) {
+            advance(now);
+
+            Set<Long> pool = new HashSet<>(candidates);
+            for (Long postId : touched) {
+                touched.remove(postId);
+                touchedCount.decrementAndGet();
+                pool.add(postId);
+            }
+
+            // K ზომის min-heap: სათავეში ყველაზე სუსტი კანდიდატია
+            Comparator<long[]> weakestFirst = Comparator.<long[]>comparingLong(e -> e[1]).thenComparingLong(e -> e[0]);
+            PriorityQueue<long[]> heap = new PriorityQueue<>(topK + 1, weakestFirst);
+            for (Long postId : pool) {
+                long estimate = estimate(postId);
+                if (estimate <= 0) {
+                    continue;
+                }
+                heap.offer(new long[]{postId, estimate});
+                if (heap.size() > topK) {
+                    heap.poll();
+                }
+            }
+
+            List<Long> ranked = new ArrayList<>(heap.size());
+            Set<Long> kept = new HashSet<>(heap.size() * 2);
+            while (!heap.isEmpty()) {
+                long postId = heap.poll()[0];
+                ranked.add(postId);
+                kept.add(postId);
+            }
+            Collections.reverse(ranked);
+            candidates = kept;
+            ranking = List.copyOf(ranked);
+        }
+
+        // ვადაგასულ bucket-ებს ვაკლებთ ჯამს; getAndSet-ით პარალელური ჩაწერაც არ იკარგება
+        private void advance(long now) {
+            if (now < currentStart + bucketMillis) {
+                return;
+            }
+            long elapsed = (now - currentStart) / bucketMillis;
+            int steps = (int) Math.min(elapsed, buckets.length);
+            for (int i = 0; i < steps; i++) {
+                int next = (current + 1) % buckets.length;
+                AtomicLongArray expired = buckets[next];
+                for (int cell = 0; cell < expired.length(); cell++) {
+                    long count = expired.getAndSet(cell, 0);
+                    if (count != 0) {
+                        total.addAndGet(cell, -count);
+                    }
+                }
+                current = next;
+            }
+            currentStart += elapsed * bucketMillis;
+        }
+
+        private long estimate(long postId) {
+            long estimate = Long.MAX_VALUE;
+            for (int d = 0; d < depth; d++) {
+                estimate = Math.min(estimate, total.get(cell(postId, d)));
+            }
+            return estimate;
+        }
+
+        private int cell(long postId, int row) {
+            long hash = (postId + 1) * SEEDS[row];
+            hash ^= hash >>> 31;
+            return row * width + (int) Math.floorMod(hash, (long) width);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.socialplatformapi.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.socialplatformapi.repository.UserRepository;
+import com.socialplatformapi.security.AuthenticatedUser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Bounded user-by-id cache behind request authentication. A session only proves who
+ * the caller was at login; the cache confirms the user still exists with at most one
+ * primary-key lookup per user, and deleting a user evicts the entry. Other nodes do
+ * not see that eviction, so entries expire a fixed time after loading: a deleted or
+ * renamed user is noticed everywhere within expire-after-write, however active.
+ */
+@Service
+public class UserIdentityCache {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, AuthenticatedUser> users;
+
+    public UserIdentityCache(UserRepository userRepository,
+                             @Value("${auth.identity-cache.max-size:100000}") long maxSize,
+                             @Value("${auth.identity-cache.expire-after-write:5m}") Duration expireAfterWrite) {
+        this.userRepository = userRepository;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    // წაშლილი მომხმარებელი არ იქეშება: მისი ტოკენი ყოველ ჯერზე უარყოფილი იქნება
+    public Optional<AuthenticatedUser> find(Long userId) {
+        return Optional.ofNullable(users.get(userId, id -> userRepository.findUsernameById(id)
+                .map(username -> new AuthenticatedUser(id, username))
+                .orElse(null)));
+    }
+
+    public void invalidate(Long userId) {
+        users.invalidate(userId);
+    }
+
+    public long size() {
+        return users.estimatedSize();
+    }
+}
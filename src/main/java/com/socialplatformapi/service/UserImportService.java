@@ -0,0 +1,295 @@
+package com.socialplatformapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.socialplatformapi.dto.bulk.BulkItemResult;
+import com.socialplatformapi.dto.bulk.ImportReport;
+import com.socialplatformapi.dto.register.UserRegisterRequest;
+import com.socialplatformapi.exception.auth.AuthenticationException;
+import com.socialplatformapi.exception.bulk.BulkRequestException;
+import com.socialplatformapi.model.User;
+import com.socialplatformapi.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Admin import of many users from a CSV or NDJSON stream. The upload is read line by
+ * line and handled in chunks: rows are validated with the registration rules, deduped
+ * within the file and, once per chunk, against the database; passwords are hashed in
+ * parallel and each chunk is inserted with one batched saveAll. Errors are reported
+ * per row, by line number.
+ */
+@Slf4j
+@Service
+public class UserImportService {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final List<String> CSV_COLUMNS =
+            List.of("firstName", "lastName", "username", "birthDate", "email", "password");
+
+    private final UserRepository userRepository;
+    private final BulkRequestValidator bulkRequestValidator;
+    private final PasswordHashingService passwordHashingService;
+    private final ObjectMapper objectMapper;
+    private final byte[] adminToken;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public UserImportService(UserRepository userRepository,
+                             BulkRequestValidator bulkRequestValidator,
+                             PasswordHashingService passwordHashingService,
+                             ObjectMapper objectMapper,
+                             @Value("${users.import.admin-token:}") String adminToken,
+                             @Value("${users.import.batch-size:500}") int batchSize,
+                             @Value("${users.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.userRepository = userRepository;
+        this.bulkRequestValidator = bulkRequestValidator;
+        this.passwordHashingService = passwordHashingService;
+        this.objectMapper = objectMapper;
+        this.adminToken = adminToken.getBytes(StandardCharsets.UTF_8);
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public ImportReport importUsers(String token, Format format, InputStream input) throws IOException {
+        checkAdminToken(token);
+        Run run = new Run();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        int[] columns = null;
+        int lineNumber = 0;
+        List<Row> chunk = new ArrayList<>(batchSize);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == Format.CSV && columns == null) {
+                columns = csvColumns(line);
+                continue;
+            }
+            run.rows++;
+            Row row = parse(format, columns, line, lineNumber, run);
+            if (row != null) {
+                chunk.add(row);
+            }
+            if (chunk.size() >= batchSize) {
+                insert(chunk, run);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            insert(chunk, run);
+        }
+
+        long elapsedNanos = Math.max(1, System.nanoTime() - run.startNanos);
+        log.info("Imported {} of {} users in {} ms", run.created, run.rows, elapsedNanos / 1_000_000);
+        return new ImportReport(run.rows, run.created, run.failed,
+                elapsedNanos / 1_000_000,
+                run.rows * 1_000_000_000.0 / elapsedNanos,
+                run.errors,
+                run.errorsTruncated);
+    }
+
+    private void checkAdminToken(String token) {
+        if (adminToken.length == 0) {
+            throw new AuthenticationException("User import is disabled");
+        }
+        if (token == null || !MessageDigest.isEqual(adminToken, token.getBytes(StandardCharsets.UTF_8))) {
+            throw new AuthenticationException("Invalid admin token");
+        }
+    }
+
+    // ვალიდაცია და ფაილის შიგნით დუბლიკატები; ბაზასთან შედარება chunk-ის დონეზეა
+    private Row parse(Format format, int[] columns, String line, int lineNumber, Run run) {
+        UserRegisterRequest request;
+        try {
+            request = format == Format.CSV ? csvRow(columns, line) : objectMapper.readValue(line, UserRegisterRequest.class);
+        } catch (JsonProcessingException e) {
+            run.fail(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+            return null;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            run.fail(lineNumber, e.getMessage());
+            return null;
+        }
+
+        String error = bulkRequestValidator.violations(request);
+        if (error != null) {
+            run.fail(lineNumber, error);
+            return null;
+        }
+        if (!run.usernames.add(request.getUsername())) {
+            run.fail(lineNumber, "Username '" + request.getUsername() + "' appears earlier in the file");
+            return null;
+        }
+        if (!run.emails.add(request.getEmail())) {
+            run.fail(lineNumber, "Email '" + request.getEmail() + "' appears earlier in the file");
+            return null;
+        }
+        return new Row(lineNumber, request);
+    }
+
+    private void insert(List<Row> chunk, Run run) {
+        Set<String> takenUsernames = new HashSet<>(userRepository.findExistingUsernames(
+                chunk.stream().map(r -> r.request().getUsername()).toList()));
+        Set<String> takenEmails = new HashSet<>(userRepository.findExistingEmails(
+                chunk.stream().map(r -> r.request().getEmail()).toList()));
+
+        List<Row> rows = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            if (takenUsernames.contains(row.request().getUsername())) {
+                run.fail(row.line(), "Username '" + row.request().getUsername() + "' is already in use");
+            } else if (takenEmails.contains(row.request().getEmail())) {
+                run.fail(row.line(), "Email '" + row.request().getEmail() + "' is already in use");
+            } else {
+                rows.add(row);
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        List<String> hashes = passwordHashingService.encodeAll(
+                rows.stream().map(r -> r.request().getPassword()).toList());
+        List<User> users = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            UserRegisterRequest request = rows.get(i).request();
+            users.add(new User()
+                    .setFirstName(request.getFirstName())
+                    .setLastName(request.getLastName())
+                    .setUsername(request.getUsername())
+                    .setBirthDate(request.getBirthDate())
+                    .setEmail(request.getEmail())
+                    .setPassword(hashes.get(i)));
+        }
+
+        try {
+            userRepository.saveAll(users);
+            run.created += users.size();
+        } catch (DataIntegrityViolationException e) {
+            // შემოწმების შემდეგ პარალელურად დარეგისტრირდა ვინმე: ცალ-ცალკე ვცდით
+            for (int i = 0; i < users.size(); i++) {
+                User user = users.get(i).setId(null);
+                try {
+                    userRepository.save(user);
+                    run.created++;
+                } catch (DataIntegrityViolationException ex) {
+                    run.fail(rows.get(i).line(), "Username or email is already in use");
+                }
+            }
+        }
+    }
+
+    private static int[] csvColumns(String header) {
+        List<String> names = splitCsv(header);
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            positions.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        int[] columns = new int[CSV_COLUMNS.size()];
+        for (int i = 0; i < columns.length; i++) {
+            Integer position = positions.get(CSV_COLUMNS.get(i).toLowerCase(Locale.ROOT));
+            if (position == null) {
+                throw new BulkRequestException("CSV header must contain the columns " + String.join(",", CSV_COLUMNS));
+            }
+            columns[i] = position;
+        }
+        return columns;
+    }
+
+    private static UserRegisterRequest csvRow(int[] columns, String line) {
+        List<String> values = splitCsv(line);
+        UserRegisterRequest request = new UserRegisterRequest();
+        request.setFirstName(value(values, columns[0]));
+        request.setLastName(value(values, columns[1]));
+        request.setUsername(value(values, columns[2]));
+        String birthDate = value(values, columns[3]);
+        request.setBirthDate(birthDate == null ? null : LocalDate.parse(birthDate));
+        request.setEmail(value(values, columns[4]));
+        request.setPassword(value(values, columns[5]));
+        return request;
+    }
+
+    private static String value(List<String> values, int column) {
+        if (column >= values.size()) {
+            return null;
+        }
+        String value = values.get(column);
+        return value.isEmpty() ? null : value;
+    }
+
+    // RFC 4180 ერთ სტრიქონში: ციტირებული ველები და "" ციტირებულ ველში
+    private static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private record Row(int line, UserRegisterRequest request) {
+    }
+
+    private final class Run {
+        private final long startNanos = System.nanoTime();
+        private final Set<String> usernames = new HashSet<>();
+        private final Set<String> emails = new HashSet<>();
+        private final List<BulkItemResult> errors = new ArrayList<>();
+        private long rows;
+        private long created;
+        private long failed;
+        private boolean errorsTruncated;
+
+        void fail(int line, String error) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(BulkItemResult.failed(line, error));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+    }
+}
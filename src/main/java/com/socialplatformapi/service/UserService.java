@@ -1,27 +1,33 @@
 package com.socialplatformapi.service;
 
 import com.socialplatformapi.dto.auth.UserLoginRequest;
+import com.socialplatformapi.dto.page.PageCursor;
 import com.socialplatformapi.dto.register.UserRegisterRequest;
 import com.socialplatformapi.dto.user.UserSummary;
 import com.socialplatformapi.exception.auth.AuthenticationException;
+import com.socialplatformapi.exception.overload.OverloadException;
 import com.socialplatformapi.exception.user.RegistrationException;
 import com.socialplatformapi.model.User;
 import com.socialplatformapi.repository.UserRepository;
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+@Slf4j
 @AllArgsConstructor
 @Service
 public class UserService {
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final LoginThrottle loginThrottle;
     private final SessionService sessionService;
 
-    public void registerUser(UserRegisterRequest request) {
+    public CompletableFuture<Void> registerUser(UserRegisterRequest request) {
         if (userRepository.existsByUsername(request.getUsername())) {
             throw new RegistrationException("Username '" + request.getUsername() + "' is already in use");
         }
@@ -30,30 +36,63 @@ public class UserService {
             throw new RegistrationException("Email '" + request.getEmail() + "' is already in use");
         }
 
-        User user = new User();
-        user
-                .setFirstName(request.getFirstName())
-                .setLastName(request.getLastName())
-                .setUsername(request.getUsername())
-                .setBirthDate(request.getBirthDate())
-                .setEmail(request.getEmail())
-                .setPassword(passwordEncoder.encode(request.getPassword()));
+        // ჰეშირება hashing pool-შია; ერთი insert-ი იმავე ნაკადში სრულდება
+        return passwordHashingService.encode(request.getPassword()).thenAccept(hash -> {
+            User user = new User();
+            user
+                    .setFirstName(request.getFirstName())
+                    .setLastName(request.getLastName())
+                    .setUsername(request.getUsername())
+                    .setBirthDate(request.getBirthDate())
+                    .setEmail(request.getEmail())
+                    .setPassword(hash);
 
-        userRepository.save(user);
+            userRepository.save(user);
+        });
     }
 
-    public String login(UserLoginRequest request) {
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new AuthenticationException("Invalid email or password"));
+    public CompletableFuture<String> login(UserLoginRequest request, String clientIp) {
+        loginThrottle.checkAllowed(request.getEmail(), clientIp);
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        User user = userRepository.findByEmail(request.getEmail()).orElse(null);
+        if (user == null) {
+            loginThrottle.recordFailure(request.getEmail(), clientIp);
             throw new AuthenticationException("Invalid email or password");
         }
 
-        return sessionService.createSession(user);
+        return passwordHashingService.matches(request.getPassword(), user.getPassword()).thenApply(matches -> {
+            if (!matches) {
+                loginThrottle.recordFailure(request.getEmail(), clientIp);
+                throw new AuthenticationException("Invalid email or password");
+            }
+            loginThrottle.recordSuccess(request.getEmail());
+            rehashIfNeeded(user, request.getPassword());
+            return sessionService.createSession(user);
+        });
+    }
+
+    // ჰეში ძველი cost-ით არის შექმნილი: პაროლი ახლა ცნობილია, ამიტომ ფონურად ვაახლებთ
+    private void rehashIfNeeded(User user, String rawPassword) {
+        if (!passwordHashingService.needsRehash(user.getPassword())) {
+            return;
+        }
+        try {
+            passwordHashingService.encode(rawPassword)
+                    .thenAccept(hash -> userRepository.updatePassword(user.getId(), hash))
+                    .exceptionally(e -> {
+                        log.warn("Could not rehash password of user {}: {}", user.getId(), e.getMessage());
+                        return null;
+                    });
+        } catch (OverloadException e) {
+            // pool სავსეა; მომდევნო შესვლაზე ისევ ვცდით
+        }
     }
 
     public List<UserSummary> getAllUserNames(Pageable pageable) {
         return userRepository.findAllProjectedBy(pageable);
     }
+
+    public List<UserSummary> getAllUserNamesAfter(PageCursor after, int size) {
+        return userRepository.findAllProjectedAfter(after.key(), after.id(), PageRequest.ofSize(size));
+    }
 }
@@ -0,0 +1,150 @@
+package com.socialplatformapi.service.session;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.socialplatformapi.dto.session.SessionStats;
+import com.socialplatformapi.exception.overload.OverloadException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded in-process sessions. Expiry is per entry (Caffeine's variable expiry, a
+ * hierarchical timing wheel, so scheduling and rescheduling are O(1)): each read
+ * pushes the deadline out by the sliding TTL, but never past issuedAt + absolute
+ * TTL. At max-sessions a new login evicts the session closest to expiry (to within
+ * the timing wheel's one-second bucket), which is the one idle the longest or nearest
+ * its absolute deadline; the new session itself is never the victim. Slots are
+ * reserved on an atomic counter before the insert, so concurrent logins cannot all
+ * pass the capacity check and overshoot max-sessions.
+ */
+@Component
+@ConditionalOnProperty(name = "session.store", havingValue = "memory", matchIfMissing = true)
+public class InMemorySessionStore implements SessionStore {
+
+    private final Cache<String, SessionRecord> sessions;
+    private final Policy.VarExpiration<String, SessionRecord> expiration;
+    private final long slidingTtlMs;
+    private final long absoluteTtlMs;
+    private final long maxSessions;
+    // ცოცხალი სესიები და დაჯავშნილი, ჯერ ჩაუწერელი slot-ები
+    private final AtomicLong reserved = new AtomicLong();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder invalidated = new LongAdder();
+
+    public InMemorySessionStore(@Value("${session.sliding-ttl:30m}") Duration slidingTtl,
+                                @Value("${session.absolute-ttl:12h}") Duration absoluteTtl,
+                                @Value("${session.max-sessions:100000}") long maxSessions) {
+        this.slidingTtlMs = slidingTtl.toMillis();
+        this.absoluteTtlMs = absoluteTtl.toMillis();
+        this.maxSessions = maxSessions;
+        this.sessions = Caffeine.newBuilder()
+                .expireAfter(new SessionExpiry())
+                .scheduler(Scheduler.systemScheduler())
+                // evictionListener სინქრონულია, ამიტომ slot-ი ვადის გასვლისთანავე თავისუფლდება
+                .evictionListener((String token, SessionRecord session, RemovalCause cause) -> count(cause))
+                .build();
+        this.expiration = sessions.policy().expireVariably().orElseThrow();
+    }
+
+    @Override
+    public String create(long userId, String username) {
+        long now = System.currentTimeMillis();
+        String token = UUID.randomUUID().toString();
+        SessionRecord session = new SessionRecord(userId, username, now, now);
+        if (reserved.incrementAndGet() > maxSessions) {
+            // სავსე store-ში ერთდროული login-ები ერთმანეთის მსხვერპლს არ უნდა იღებდნენ
+            synchronized (this) {
+                while (reserved.get() > maxSessions) {
+                    if (!evictClosestToExpiry()) {
+                        // დარჩენილი slot-ები სხვა login-ებს აქვთ დაჯავშნილი და ჯერ არ ჩაუწერიათ
+                        reserved.decrementAndGet();
+                        throw new OverloadException("Too many sessions being created, try again later", 1);
+                    }
+                }
+            }
+        }
+        sessions.put(token, session);
+        created.increment();
+        return token;
+    }
+
+    @Override
+    public Optional<SessionRecord> find(String token) {
+        SessionRecord session = sessions.getIfPresent(token);
+        if (session != null) {
+            session.touch(System.currentTimeMillis());
+        }
+        return Optional.ofNullable(session);
+    }
+
+    @Override
+    public void remove(String token) {
+        if (sessions.asMap().remove(token) != null) {
+            reserved.decrementAndGet();
+            invalidated.increment();
+        }
+    }
+
+    @Override
+    public SessionStats stats() {
+        return new SessionStats("memory", reserved.get(), maxSessions,
+                created.sum(), expired.sum(), evicted.sum(), invalidated.sum());
+    }
+
+    // ტაიმერის ბორბალი ჩანაწერებს ვადის მიხედვით ალაგებს, ამიტომ პირველი ყველაზე ძველია.
+    // false მხოლოდ მაშინ, როცა store-ში გასაძევებელი აღარაფერია
+    private boolean evictClosestToExpiry() {
+        for (String token : expiration.oldest(1).keySet()) {
+            // თუ ამასობაში logout-მა ან ვადამ წაშალა, slot-ი მაინც გათავისუფლდა
+            if (sessions.asMap().remove(token) != null) {
+                reserved.decrementAndGet();
+                evicted.increment();
+            }
+            return true;
+        }
+        return false;
+    }
+
+    // logout და capacity-ით გაძევება თავად ითვლება; listener მხოლოდ ავტომატურ წაშლას ხედავს
+    private void count(RemovalCause cause) {
+        reserved.decrementAndGet();
+        if (cause == RemovalCause.EXPIRED) {
+            expired.increment();
+        }
+    }
+
+    private long remainingNanos(SessionRecord session) {
+        long untilAbsolute = session.issuedAt() + absoluteTtlMs - System.currentTimeMillis();
+        return Duration.ofMillis(Math.max(0, Math.min(slidingTtlMs, untilAbsolute))).toNanos();
+    }
+
+    private final class SessionExpiry implements Expiry<String, SessionRecord> {
+        @Override
+        public long expireAfterCreate(String token, SessionRecord session, long currentTime) {
+            return remainingNanos(session);
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, SessionRecord session, long currentTime, long currentDuration) {
+            return remainingNanos(session);
+        }
+
+        @Override
+        public long expireAfterRead(String token, SessionRecord session, long currentTime, long currentDuration) {
+            return remainingNanos(session);
+        }
+    }
+}
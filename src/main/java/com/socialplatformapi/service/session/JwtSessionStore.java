@@ -0,0 +1,133 @@
+package com.socialplatformapi.service.session;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.socialplatformapi.dto.session.SessionStats;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stateless sessions: the token is an HS256-signed JWT carrying the user id and
+ * username, so any node holding the same secret verifies it without a lookup.
+ * Tokens are short-lived; logout puts the token id on an in-memory denylist
+ * until the token would have expired anyway. The denylist has no size bound: an
+ * evicted entry would make a revoked token valid again, and the ttl already limits
+ * it to the logouts of one token lifetime. Without session.jwt.secret startup fails,
+ * unless the dev profile is active; then a random per-process key is used.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "session.store", havingValue = "jwt")
+public class JwtSessionStore implements SessionStore {
+
+    private static final String USERNAME_CLAIM = "username";
+
+    private final SecretKey key;
+    private final JwtParser parser;
+    private final long ttlMs;
+    // jti -> ტოკენის ვადის გასვლის დრო (epoch ms); ჩანაწერი თავად ქრება ამ დროს
+    private final Cache<String, Long> denylist;
+    private final LongAdder created = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder revoked = new LongAdder();
+
+    public JwtSessionStore(@Value("${session.jwt.secret:}") String secret,
+                           @Value("${session.jwt.ttl:15m}") Duration ttl,
+                           Environment environment) {
+        if (secret.isBlank()) {
+            // შემთხვევითი გასაღებით ყოველი ნოდი სხვა ნოდის ტოკენებს უარყოფს, ამიტომ მხოლოდ dev-ში
+            if (!environment.acceptsProfiles(Profiles.of("dev"))) {
+                throw new IllegalStateException("session.jwt.secret must be set when session.store is jwt "
+                        + "(a random key is only allowed with the dev profile)");
+            }
+            log.warn("session.jwt.secret is not set, using a random key: tokens will not survive a restart "
+                    + "or be accepted by other nodes");
+            this.key = Jwts.SIG.HS256.key().build();
+        } else {
+            this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        }
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.ttlMs = ttl.toMillis();
+        this.denylist = Caffeine.newBuilder()
+                .expireAfter(Expiry.creating((String jti, Long expiresAt) ->
+                        Duration.ofMillis(Math.max(0, expiresAt - System.currentTimeMillis()))))
+                .build();
+    }
+
+    @Override
+    public String create(long userId, String username) {
+        long now = System.currentTimeMillis();
+        String token = Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .subject(Long.toString(userId))
+                .claim(USERNAME_CLAIM, username)
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + ttlMs))
+                .signWith(key)
+                .compact();
+        created.increment();
+        return token;
+    }
+
+    @Override
+    public Optional<SessionRecord> find(String token) {
+        Claims claims = parse(token);
+        if (claims == null || denylist.getIfPresent(claims.getId()) != null) {
+            return Optional.empty();
+        }
+        long issuedAt = claims.getIssuedAt().getTime();
+        return Optional.of(new SessionRecord(Long.parseLong(claims.getSubject()),
+                claims.get(USERNAME_CLAIM, String.class), issuedAt, System.currentTimeMillis()));
+    }
+
+    @Override
+    public void remove(String token) {
+        Claims claims = parse(token);
+        if (claims != null) {
+            denylist.put(claims.getId(), claims.getExpiration().getTime());
+            revoked.increment();
+        }
+    }
+
+    @Override
+    public boolean isSelfContained() {
+        return true;
+    }
+
+    // active უცნობია: ტოკენები არსად ინახება
+    @Override
+    public SessionStats stats() {
+        return new SessionStats("jwt", -1, -1, created.sum(), expired.sum(), 0, revoked.sum());
+    }
+
+    private Claims parse(String token) {
+        try {
+            return parser.parseSignedClaims(token).getPayload();
+        } catch (ExpiredJwtException e) {
+            expired.increment();
+            return null;
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected session token: {}", e.getMessage());
+            return null;
+        }
+    }
+}
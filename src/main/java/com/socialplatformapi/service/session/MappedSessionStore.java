@@ -0,0 +1,389 @@
+package com.socialplatformapi.service.session;
+
+import com.socialplatformapi.dto.session.SessionStats;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Sessions kept in a memory-mapped file, so they survive a restart. The file is a
+ * fixed-slot, linear-probing hash table keyed by the 128-bit token; deletes use
+ * backward shifting, so there are no tombstones and probe chains stay short.
+ * Restart maps the file and counts occupied slots, nothing is deserialized.
+ * Expiry is checked on lookup and swept periodically; when the table is at its
+ * load limit, a new session replaces the least recently seen one near its slot.
+ * The header records which users table the sessions were issued against; when the
+ * table was recreated, the sessions are dropped.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "session.store", havingValue = "mmap")
+public class MappedSessionStore implements SessionStore {
+
+    private static final int MAGIC = 0x53455353;
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 64;
+    private static final int SLOT_SIZE = 128;
+    private static final int USER_TABLE_GENERATION = 16;
+
+    // სლოტის განლაგება
+    private static final int MSB = 0;
+    private static final int LSB = 8;
+    private static final int USER_ID = 16;
+    private static final int ISSUED_AT = 24;
+    private static final int LAST_SEEN_AT = 32;
+    private static final int USERNAME_LENGTH = 40;
+    private static final int USERNAME = 42;
+    private static final int MAX_USERNAME_BYTES = SLOT_SIZE - USERNAME;
+
+    private static final int EVICTION_WINDOW = 16;
+    private static final long TOUCH_GRANULARITY_MS = 1000;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final int mask;
+    private final int maxLive;
+    private final long slidingTtlMs;
+    private final long absoluteTtlMs;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int live;
+    private final LongAdder created = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder invalidated = new LongAdder();
+
+    public MappedSessionStore(@Value("${session.mmap.file:./sessions.dat}") Path file,
+                              @Value("${session.mmap.capacity:1048576}") int capacity,
+                              @Value("${session.sliding-ttl:30m}") Duration slidingTtl,
+                              @Value("${session.absolute-ttl:12h}") Duration absoluteTtl,
+                              @Value("${session.max-sessions:100000}") int maxSessions) throws IOException {
+        if (Integer.bitCount(capacity) != 1 || (long) capacity * SLOT_SIZE + HEADER_SIZE > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("session.mmap.capacity must be a power of two below 16M");
+        }
+        this.file = file;
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        // linear probing-ს 75%-ზე მეტი დატვირთვა არ უხდება
+        this.maxLive = Math.min(maxSessions, capacity / 4 * 3);
+        this.slidingTtlMs = slidingTtl.toMillis();
+        this.absoluteTtlMs = absoluteTtl.toMillis();
+
+        long started = System.currentTimeMillis();
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        boolean fresh = channel.size() == 0;
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * SLOT_SIZE);
+        if (fresh || !headerMatches()) {
+            if (!fresh) {
+                log.warn("Session file {} has a different layout, starting with no sessions", file);
+                clear();
+            }
+            writeHeader();
+        }
+        this.live = countLive();
+        log.info("Mapped {} sessions from {} in {} ms", live, file, System.currentTimeMillis() - started);
+    }
+
+    @Override
+    public String create(long userId, String username) {
+        byte[] name = username.getBytes(StandardCharsets.UTF_8);
+        if (name.length > MAX_USERNAME_BYTES) {
+            throw new IllegalArgumentException("Username is too long for the mapped session store");
+        }
+        UUID token = UUID.randomUUID();
+        long now = System.currentTimeMillis();
+
+        lock.writeLock().lock();
+        try {
+            int slot;
+            if (live >= maxLive) {
+                slot = victim(home(token.getMostSignificantBits(), token.getLeastSignificantBits()));
+                deleteSlot(slot);
+                evicted.increment();
+            }
+            slot = home(token.getMostSignificantBits(), token.getLeastSignificantBits());
+            while (occupied(slot)) {
+                slot = (slot + 1) & mask;
+            }
+            int base = offset(slot);
+            buffer.putLong(base + USER_ID, userId);
+            buffer.putLong(base + ISSUED_AT, now);
+            buffer.putLong(base + LAST_SEEN_AT, now);
+            buffer.putShort(base + USERNAME_LENGTH, (short) name.length);
+            buffer.put(base + USERNAME, name);
+            // გასაღები ბოლოს იწერება: მანამდე სლოტი ცარიელად ითვლება
+            buffer.putLong(base + LSB, token.getLeastSignificantBits());
+            buffer.putLong(base + MSB, token.getMostSignificantBits());
+            live++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        created.increment();
+        return token.toString();
+    }
+
+    @Override
+    public Optional<SessionRecord> find(String token) {
+        UUID key = parse(token);
+        if (key == null) {
+            return Optional.empty();
+        }
+        long now = System.currentTimeMillis();
+        boolean expiredNow;
+        lock.readLock().lock();
+        try {
+            int slot = find(key.getMostSignificantBits(), key.getLeastSignificantBits());
+            if (slot < 0) {
+                return Optional.empty();
+            }
+            int base = offset(slot);
+            long issuedAt = buffer.getLong(base + ISSUED_AT);
+            long lastSeenAt = buffer.getLong(base + LAST_SEEN_AT);
+            expiredNow = isExpired(issuedAt, lastSeenAt, now);
+            if (!expiredNow) {
+                if (now - lastSeenAt > TOUCH_GRANULARITY_MS) {
+                    // სლოტი read lock-ის ქვეშ არ გადაადგილდება, ამიტომ ერთი long-ის ჩაწერა უსაფრთხოა
+                    buffer.putLong(base + LAST_SEEN_AT, now);
+                }
+                byte[] name = new byte[buffer.getShort(base + USERNAME_LENGTH)];
+                buffer.get(base + USERNAME, name);
+                return Optional.of(new SessionRecord(buffer.getLong(base + USER_ID),
+                        new String(name, StandardCharsets.UTF_8), issuedAt, now));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (expiredNow && delete(key)) {
+            expired.increment();
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public void remove(String token) {
+        UUID key = parse(token);
+        if (key != null && delete(key)) {
+            invalidated.increment();
+        }
+    }
+
+    @Override
+    public SessionStats stats() {
+        lock.readLock().lock();
+        try {
+            return new SessionStats("mmap", live, maxLive,
+                    created.sum(), expired.sum(), evicted.sum(), invalidated.sum());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void bindUserTable(long generation) {
+        lock.writeLock().lock();
+        try {
+            long stored = buffer.getLong(USER_TABLE_GENERATION);
+            if (stored == generation) {
+                return;
+            }
+            if (live > 0) {
+                log.warn("Session file {} was written for another users table, dropping {} sessions", file, live);
+                clear();
+                writeHeader();
+                live = 0;
+            }
+            buffer.putLong(USER_TABLE_GENERATION, generation);
+            buffer.force();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${session.mmap.sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            int slot = 0;
+            while (slot < capacity) {
+                int base = offset(slot);
+                if (occupied(slot) && isExpired(buffer.getLong(base + ISSUED_AT), buffer.getLong(base + LAST_SEEN_AT), now)) {
+                    // backward shift-მა ამ სლოტში შემდეგი ჩანაწერი შეიძლება ჩამოიტანოს, ამიტომ ისევ ვამოწმებთ
+                    deleteSlot(slot);
+                    expired.increment();
+                    continue;
+                }
+                slot++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        buffer.force();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            buffer.force();
+            channel.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean delete(UUID key) {
+        lock.writeLock().lock();
+        try {
+            int slot = find(key.getMostSignificantBits(), key.getLeastSignificantBits());
+            if (slot < 0) {
+                return false;
+            }
+            deleteSlot(slot);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int find(long msb, long lsb) {
+        int slot = home(msb, lsb);
+        while (occupied(slot)) {
+            int base = offset(slot);
+            if (buffer.getLong(base + MSB) == msb && buffer.getLong(base + LSB) == lsb) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    // linear probing-ის წაშლა tombstone-ის გარეშე: შემდგომი ჩანაწერები თავიანთ home-ისკენ იწევს
+    private void deleteSlot(int hole) {
+        int slot = hole;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (!occupied(slot)) {
+                break;
+            }
+            int base = offset(slot);
+            int home = home(buffer.getLong(base + MSB), buffer.getLong(base + LSB));
+            boolean canMove = hole <= slot
+                    ? home <= hole || home > slot
+                    : home <= hole && home > slot;
+            if (canMove) {
+                copySlot(slot, hole);
+                hole = slot;
+            }
+        }
+        clearSlot(hole);
+        live--;
+    }
+
+    private int victim(int start) {
+        int oldest = -1;
+        long oldestSeen = Long.MAX_VALUE;
+        int slot = start;
+        for (int scanned = 0, found = 0; scanned < capacity && found < EVICTION_WINDOW; scanned++) {
+            if (occupied(slot)) {
+                found++;
+                long seen = buffer.getLong(offset(slot) + LAST_SEEN_AT);
+                if (seen < oldestSeen) {
+                    oldestSeen = seen;
+                    oldest = slot;
+                }
+            }
+            slot = (slot + 1) & mask;
+        }
+        return oldest;
+    }
+
+    private boolean isExpired(long issuedAt, long lastSeenAt, long now) {
+        return now - lastSeenAt > slidingTtlMs || now - issuedAt > absoluteTtlMs;
+    }
+
+    private boolean occupied(int slot) {
+        int base = offset(slot);
+        return buffer.getLong(base + MSB) != 0 || buffer.getLong(base + LSB) != 0;
+    }
+
+    private void copySlot(int from, int to) {
+        ByteBuffer source = buffer.slice(offset(from), SLOT_SIZE);
+        buffer.put(offset(to), source, 0, SLOT_SIZE);
+    }
+
+    private void clearSlot(int slot) {
+        buffer.put(offset(slot), new byte[SLOT_SIZE]);
+    }
+
+    private int home(long msb, long lsb) {
+        long hash = (msb ^ lsb) * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & mask;
+    }
+
+    private int offset(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    private int countLive() {
+        int count = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            if (occupied(slot)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private boolean headerMatches() {
+        return buffer.getInt(0) == MAGIC
+                && buffer.getInt(4) == VERSION
+                && buffer.getInt(8) == SLOT_SIZE
+                && buffer.getInt(12) == capacity;
+    }
+
+    private void writeHeader() {
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putInt(8, SLOT_SIZE);
+        buffer.putInt(12, capacity);
+        buffer.force();
+    }
+
+    private void clear() {
+        byte[] zeros = new byte[SLOT_SIZE * 64];
+        for (long position = 0; position < buffer.capacity(); position += zeros.length) {
+            buffer.put((int) position, zeros, 0, (int) Math.min(zeros.length, buffer.capacity() - position));
+        }
+    }
+
+    private static UUID parse(String token) {
+        try {
+            return UUID.fromString(token);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.socialplatformapi.service.session;
+
+/**
+ * What a session remembers about its user: ids and timestamps only, never the
+ * entity or its password hash. Times are epoch milliseconds.
+ */
+public final class SessionRecord {
+    private final long userId;
+    private final String username;
+    private final long issuedAt;
+    private volatile long lastSeenAt;
+
+    public SessionRecord(long userId, String username, long issuedAt, long lastSeenAt) {
+        this.userId = userId;
+        this.username = username;
+        this.issuedAt = issuedAt;
+        this.lastSeenAt = lastSeenAt;
+    }
+
+    public long userId() {
+        return userId;
+    }
+
+    public String username() {
+        return username;
+    }
+
+    public long issuedAt() {
+        return issuedAt;
+    }
+
+    public long lastSeenAt() {
+        return lastSeenAt;
+    }
+
+    void touch(long now) {
+        lastSeenAt = now;
+    }
+}
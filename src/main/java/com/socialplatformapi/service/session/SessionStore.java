@@ -0,0 +1,26 @@
+package com.socialplatformapi.service.session;
+
+import com.socialplatformapi.dto.session.SessionStats;
+
+import java.util.Optional;
+
+public interface SessionStore {
+
+    String create(long userId, String username);
+
+    // აქტიურ სესიას სიცოცხლეს უგრძელებს (sliding TTL)
+    Optional<SessionRecord> find(String token);
+
+    void remove(String token);
+
+    SessionStats stats();
+
+    // true, თუ ტოკენი ხელმოწერილია და მისი username-ის ბაზასთან შედარება საჭირო არ არის
+    default boolean isSelfContained() {
+        return false;
+    }
+
+    // რესტარტს გადარჩენილი სესიები სხვა users ცხრილის id-ებს არ უნდა ეკუთვნოდეს
+    default void bindUserTable(long generation) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.socialplatformapi;
+
+import com.socialplatformapi.model.User;
+import com.socialplatformapi.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Base for tests that need the real schema: one PostgreSQL container and one Spring
+ * context shared by all subclasses. Skipped where Docker is not available.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "search.index-dir=target/test-search-index",
+        "reqres.http.cache-dir=target/test-reqres-cache"
+})
+// reqres.in-ის ნაცვლად ლოკალური stand-in სერვერი
+@ActiveProfiles("offline")
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgresIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    // კონტეინერი ტესტებს შორის საერთოა, ამიტომ ყოველ მომხმარებელს უნიკალური სახელი აქვს
+    protected User user() {
+        String name = "u" + UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(new User()
+                .setFirstName("First")
+                .setLastName("Last")
+                .setUsername(name)
+                .setBirthDate(LocalDate.of(1990, 1, 1))
+                .setEmail(name + "@example.com")
+                .setPassword("{noop}secret"));
+    }
+}
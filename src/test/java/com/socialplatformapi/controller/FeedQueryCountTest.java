@@ -0,0 +1,139 @@
+package com.socialplatformapi.controller;
+
+import com.socialplatformapi.PostgresIntegrationTest;
+import com.socialplatformapi.model.Comment;
+import com.socialplatformapi.model.Like;
+import com.socialplatformapi.model.Post;
+import com.socialplatformapi.model.User;
+import com.socialplatformapi.repository.CommentRepository;
+import com.socialplatformapi.repository.LikeRepository;
+import com.socialplatformapi.repository.PostRepository;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A feed page costs the same number of statements no matter how many posts,
+ * comments and likes it holds: the page, then all comment and liker previews.
+ * Statements are counted by a datasource-proxy wrapper around the test's DataSource.
+ */
+@AutoConfigureMockMvc
+class FeedQueryCountTest extends PostgresIntegrationTest {
+
+    private static final int QUERIES_PER_PAGE = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private LikeRepository likeRepository;
+
+    private User author;
+    private List<User> readers;
+
+    @BeforeEach
+    void setUp() {
+        author = user();
+        readers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            readers.add(user());
+        }
+    }
+
+    @Test
+    void allPostsPageHasConstantQueryCount() throws Exception {
+        createPosts(1);
+        long small = queries("/posts?page=0");
+        createPosts(9);
+        long full = queries("/posts?page=0");
+
+        assertThat(small).isEqualTo(QUERIES_PER_PAGE);
+        assertThat(full).isEqualTo(QUERIES_PER_PAGE);
+    }
+
+    @Test
+    void postsByUserPageHasConstantQueryCount() throws Exception {
+        String url = "/posts/by-user/" + author.getUsername();
+        createPosts(2);
+        long small = queries(url);
+        createPosts(8);
+        long full = queries(url);
+
+        assertThat(small).isEqualTo(QUERIES_PER_PAGE);
+        assertThat(full).isEqualTo(QUERIES_PER_PAGE);
+    }
+
+    // MockMvc მოთხოვნას ტესტის ნაკადში ასრულებს, ამიტომ thread-local მთვლელი მხოლოდ მას ითვლის
+    private long queries(String url) throws Exception {
+        QueryCountHolder.clear();
+
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].comments").isNotEmpty())
+                .andExpect(jsonPath("$[0].likedBy").isNotEmpty());
+
+        return QueryCountHolder.getGrandTotal().getTotal();
+    }
+
+    private void createPosts(int count) {
+        for (int i = 0; i < count; i++) {
+            Post post = new Post();
+            post.setText("post " + i);
+            post.setPostDate(LocalDateTime.now());
+            post.setPoster(author);
+            postRepository.save(post);
+
+            for (User reader : readers) {
+                Comment comment = new Comment();
+                comment.setCommentText("comment by " + reader.getUsername());
+                comment.setCommentDate(LocalDateTime.now());
+                comment.setPost(post);
+                comment.setCommenter(reader);
+                commentRepository.save(comment);
+
+                Like like = new Like();
+                like.setPost(post);
+                like.setUser(reader);
+                like.setLikedAt(LocalDateTime.now());
+                likeRepository.save(like);
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class CountingDataSource {
+
+        @Bean
+        static BeanPostProcessor countingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource) {
+                        return ProxyDataSourceBuilder.create(dataSource).countQuery().build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
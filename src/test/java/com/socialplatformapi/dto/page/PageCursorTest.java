@@ -0,0 +1,55 @@
+package com.socialplatformapi.dto.page;
+
+import com.socialplatformapi.exception.pagination.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCursorTest {
+
+    @Test
+    void idCursorRoundTrips() {
+        PageCursor cursor = PageCursor.decode(PageCursor.ofId(42L).encode());
+
+        assertThat(cursor.id()).isEqualTo(42L);
+        assertThat(cursor.key()).isNull();
+    }
+
+    @Test
+    void keyedCursorRoundTripsKeyContainingSeparators() {
+        PageCursor cursor = PageCursor.decode(PageCursor.of("2025-06-01T12:00:00", 7L).encode());
+
+        assertThat(cursor.id()).isEqualTo(7L);
+        assertThat(cursor.key()).isEqualTo("2025-06-01T12:00:00");
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        String encoded = PageCursor.of("ა/ბ+?", Long.MAX_VALUE).encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+        assertThat(PageCursor.decode(encoded).key()).isEqualTo("ა/ბ+?");
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        assertThatThrownBy(() -> PageCursor.decode("not base64!")).isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> PageCursor.decode(raw("x:1"))).isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> PageCursor.decode(raw("i:abc"))).isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> PageCursor.decode(raw("k:12"))).isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void requireKeyRejectsIdOnlyCursor() {
+        assertThatThrownBy(() -> PageCursor.ofId(1L).requireKey()).isInstanceOf(InvalidCursorException.class);
+        assertThat(PageCursor.of("k", 1L).requireKey().key()).isEqualTo("k");
+    }
+
+    private static String raw(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
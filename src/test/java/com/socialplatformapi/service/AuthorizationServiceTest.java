@@ -0,0 +1,99 @@
+package com.socialplatformapi.service;
+
+import com.socialplatformapi.model.User;
+import com.socialplatformapi.repository.UserRepository;
+import com.socialplatformapi.security.AuthenticatedUser;
+import com.socialplatformapi.service.session.InMemorySessionStore;
+import com.socialplatformapi.service.session.JwtSessionStore;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Encoders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuthorizationServiceTest {
+
+    private UserRepository userRepository;
+    private SessionService sessionService;
+    private AuthorizationService authorizationService;
+    private SessionService jwtSessionService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        sessionService = new SessionService(
+                new InMemorySessionStore(Duration.ofMinutes(30), Duration.ofHours(12), 100), userRepository);
+        authorizationService = new AuthorizationService(sessionService,
+                new UserIdentityCache(userRepository, 100, Duration.ofMinutes(30)));
+    }
+
+    @Test
+    void sessionResolvesToItsUser() {
+        when(userRepository.findUsernameById(1L)).thenReturn(Optional.of("alice"));
+        String token = sessionService.createSession(new User().setId(1L).setUsername("alice"));
+
+        assertThat(authorizationService.authenticate(token))
+                .map(AuthenticatedUser::getUsername)
+                .hasValue("alice");
+    }
+
+    @Test
+    void sessionIsRejectedWhenItsUserIdNowBelongsToSomeoneElse() {
+        // იგივე id ხელახლა შექმნილ ბაზაში სხვა მომხმარებელს ეკუთვნის
+        when(userRepository.findUsernameById(1L)).thenReturn(Optional.of("mallory"));
+        String token = sessionService.createSession(new User().setId(1L).setUsername("alice"));
+
+        assertThat(authorizationService.authenticate(token)).isEmpty();
+    }
+
+    @Test
+    void jwtSessionTakesItsUsernameFromTheSignedToken() {
+        AuthorizationService jwtAuthorization = jwtAuthorization();
+        when(userRepository.findUsernameById(1L)).thenReturn(Optional.of("alice-renamed"));
+        String token = jwtSessionService.createSession(new User().setId(1L).setUsername("alice"));
+
+        assertThat(jwtAuthorization.authenticate(token))
+                .map(AuthenticatedUser::getUsername)
+                .hasValue("alice");
+    }
+
+    @Test
+    void jwtSessionOfDeletedUserIsRejected() {
+        AuthorizationService jwtAuthorization = jwtAuthorization();
+        when(userRepository.findUsernameById(1L)).thenReturn(Optional.empty());
+        String token = jwtSessionService.createSession(new User().setId(1L).setUsername("alice"));
+
+        assertThat(jwtAuthorization.authenticate(token)).isEmpty();
+    }
+
+    @Test
+    void jwtStoreRefusesToStartWithoutSecret() {
+        assertThatThrownBy(() -> new JwtSessionStore("", Duration.ofMinutes(15), new StandardEnvironment()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void jwtStoreUsesRandomKeyInDevProfile() {
+        StandardEnvironment dev = new StandardEnvironment();
+        dev.setActiveProfiles("dev");
+        JwtSessionStore store = new JwtSessionStore("", Duration.ofMinutes(15), dev);
+
+        assertThat(store.find(store.create(1, "alice"))).isPresent();
+    }
+
+    private AuthorizationService jwtAuthorization() {
+        String secret = Encoders.BASE64.encode(Jwts.SIG.HS256.key().build().getEncoded());
+        jwtSessionService = new SessionService(
+                new JwtSessionStore(secret, Duration.ofMinutes(15), new StandardEnvironment()), userRepository);
+        return new AuthorizationService(jwtSessionService,
+                new UserIdentityCache(userRepository, 100, Duration.ofMinutes(30)));
+    }
+}
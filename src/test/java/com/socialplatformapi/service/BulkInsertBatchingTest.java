@@ -0,0 +1,133 @@
+package com.socialplatformapi.service;
+
+import com.socialplatformapi.PostgresIntegrationTest;
+import com.socialplatformapi.dto.bulk.BulkResult;
+import com.socialplatformapi.dto.post.PostRequest;
+import com.socialplatformapi.model.User;
+import com.socialplatformapi.security.AuthenticatedUser;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The batched {@code createPosts} path against a real PostgreSQL: posts go out as JDBC
+ * batches of {@code hibernate.jdbc.batch_size} and their ids come from the pooled
+ * sequence, one {@code nextval} per 50 rows. Statements are recorded by a
+ * datasource-proxy wrapper around the test's DataSource.
+ */
+class BulkInsertBatchingTest extends PostgresIntegrationTest {
+
+    private static final int ROWS = 1000;
+    private static final int BATCH_SIZE = 50;
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final List<Execution> EXECUTIONS = new CopyOnWriteArrayList<>();
+    private static volatile Thread recording;
+
+    @Autowired
+    private PostService postService;
+
+    private AuthenticatedUser author;
+
+    @BeforeEach
+    void setUp() {
+        User user = user();
+        author = new AuthenticatedUser(user.getId(), user.getUsername());
+    }
+
+    @AfterEach
+    void tearDown() {
+        recording = null;
+        EXECUTIONS.clear();
+    }
+
+    @Test
+    void postsAreInsertedInJdbcBatches() {
+        BulkResult result = record(() -> postService.createPosts(requests(), author));
+
+        assertThat(result.getFailed()).isZero();
+        List<Execution> inserts = EXECUTIONS.stream().filter(e -> e.sql().startsWith("insert into posts")).toList();
+        assertThat(inserts).hasSize(ROWS / BATCH_SIZE)
+                .allSatisfy(insert -> {
+                    assertThat(insert.batch()).isTrue();
+                    assertThat(insert.batchSize()).isEqualTo(BATCH_SIZE);
+                });
+    }
+
+    @Test
+    void idsComeFromThePooledSequenceInBlocksOfFifty() {
+        record(() -> postService.createPosts(requests(), author));
+
+        // pooled optimizer-ს პირველ ჯერზე შეიძლება ერთი დამატებითი nextval დასჭირდეს
+        long nextvals = EXECUTIONS.stream().filter(e -> e.sql().contains("nextval('posts_seq')")).count();
+        assertThat(nextvals).isBetween((long) ROWS / ALLOCATION_SIZE, (long) ROWS / ALLOCATION_SIZE + 1);
+    }
+
+    // მხოლოდ ტესტის ნაკადი: ფონური flush-ები და scheduler-ები არ ითვლება
+    private static <T> T record(Supplier<T> action) {
+        EXECUTIONS.clear();
+        recording = Thread.currentThread();
+        try {
+            return action.get();
+        } finally {
+            recording = null;
+        }
+    }
+
+    private static List<PostRequest> requests() {
+        List<PostRequest> requests = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            PostRequest request = new PostRequest();
+            request.setText("bulk post " + i);
+            requests.add(request);
+        }
+        return requests;
+    }
+
+    private record Execution(String sql, boolean batch, int batchSize) {
+    }
+
+    @TestConfiguration
+    static class RecordingDataSource {
+
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource) {
+                        return ProxyDataSourceBuilder.create(dataSource)
+                                .afterQuery(BulkInsertBatchingTest::recordExecution)
+                                .build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    private static void recordExecution(ExecutionInfo execution, List<QueryInfo> queries) {
+        if (Thread.currentThread() != recording) {
+            return;
+        }
+        for (QueryInfo query : queries) {
+            EXECUTIONS.add(new Execution(query.getQuery().strip().toLowerCase(),
+                    execution.isBatch(), execution.getBatchSize()));
+        }
+    }
+}
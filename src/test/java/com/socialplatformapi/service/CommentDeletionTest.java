@@ -0,0 +1,86 @@
+package com.socialplatformapi.service;
+
+import com.socialplatformapi.PostgresIntegrationTest;
+import com.socialplatformapi.dto.comment.CommentUpdateRequest;
+import com.socialplatformapi.exception.post.PostException;
+import com.socialplatformapi.model.Comment;
+import com.socialplatformapi.model.Post;
+import com.socialplatformapi.model.User;
+import com.socialplatformapi.repository.CommentRepository;
+import com.socialplatformapi.repository.PostRepository;
+import com.socialplatformapi.security.AuthenticatedUser;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CommentDeletionTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private CommentService commentService;
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void commenterCanDeleteCommentOnTombstonedPost() {
+        User author = user();
+        User commenter = user();
+        Comment comment = comment(post(author), commenter);
+        // purge-მდე მდგომარეობა: პოსტი დამალულია, კომენტარი ჯერ კიდევ ბაზაშია
+        jdbcTemplate.update("UPDATE posts SET deleted_at = now() WHERE id = ?", comment.getPost().getId());
+
+        commentService.deleteComment(comment.getId(), new AuthenticatedUser(commenter.getId(), commenter.getUsername()));
+
+        assertThat(commentRepository.existsById(comment.getId())).isFalse();
+    }
+
+    @Test
+    void commentOnTombstonedPostCannotBeEdited() {
+        User commenter = user();
+        Comment comment = comment(post(user()), commenter);
+        jdbcTemplate.update("UPDATE posts SET deleted_at = now() WHERE id = ?", comment.getPost().getId());
+        CommentUpdateRequest request = new CommentUpdateRequest();
+        request.setText("edited");
+
+        assertThatThrownBy(() -> commentService.updateComment(comment.getId(), request,
+                new AuthenticatedUser(commenter.getId(), commenter.getUsername())))
+                .isInstanceOf(PostException.class);
+        assertThat(commentRepository.findById(comment.getId()))
+                .hasValueSatisfying(c -> assertThat(c.getCommentText()).isEqualTo("comment"));
+    }
+
+    @Test
+    void postOwnerCanDeleteCommentOnLivePost() {
+        User author = user();
+        Comment comment = comment(post(author), user());
+
+        commentService.deleteComment(comment.getId(), new AuthenticatedUser(author.getId(), author.getUsername()));
+
+        assertThat(commentRepository.existsById(comment.getId())).isFalse();
+    }
+
+    private Post post(User poster) {
+        Post post = new Post();
+        post.setText("post");
+        post.setPostDate(LocalDateTime.now());
+        post.setPoster(poster);
+        return postRepository.save(post);
+    }
+
+    private Comment comment(Post post, User commenter) {
+        Comment comment = new Comment();
+        comment.setCommentText("comment");
+        comment.setCommentDate(LocalDateTime.now());
+        comment.setPost(post);
+        comment.setCommenter(commenter);
+        return commentRepository.save(comment);
+    }
+}
@@ -0,0 +1,101 @@
+package com.socialplatformapi.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FullTextIndexTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void segmentRoundTripsPostingsAndMetadata() throws IOException {
+        FullTextIndex index = new FullTextIndex();
+        index.put(1, "Spring Boot search");
+        index.put(2, "search segments on disk");
+        index.put(5, "unrelated text");
+        Path file = dir.resolve("posts.seg");
+        Instant before = Instant.now().minus(Duration.ofSeconds(1));
+
+        index.writeSegment(file, 42);
+        FullTextIndex loaded = new FullTextIndex();
+        Optional<FullTextIndex.Segment> segment = loaded.readSegment(file, 42);
+
+        assertThat(segment).isPresent();
+        assertThat(segment.get().maxDocId()).isEqualTo(5);
+        assertThat(segment.get().ids().toArray()).containsExactly(1, 2, 5);
+        assertThat(segment.get().writtenAt()).isAfter(before);
+        assertThat(loaded.maxDocId()).isEqualTo(5);
+        assertThat(loaded.search("search", 10)).containsExactlyInAnyOrderElementsOf(index.search("search", 10));
+        assertThat(loaded.search("unrelated", 10)).containsExactly(5L);
+    }
+
+    @Test
+    void segmentOfAnotherGenerationIsIgnored() throws IOException {
+        FullTextIndex index = new FullTextIndex();
+        index.put(1, "stale posting");
+        Path file = dir.resolve("posts.seg");
+        index.writeSegment(file, 1);
+
+        FullTextIndex loaded = new FullTextIndex();
+
+        assertThat(loaded.readSegment(file, 2)).isEmpty();
+        assertThat(loaded.search("stale", 10)).isEmpty();
+        assertThat(loaded.maxDocId()).isZero();
+    }
+
+    @Test
+    void missingSegmentIsNotAnError() throws IOException {
+        assertThat(new FullTextIndex().readSegment(dir.resolve("absent.seg"), 1)).isEmpty();
+    }
+
+    @Test
+    void documentsIndexedBeforeLoadingWinOverTheSegment() throws IOException {
+        FullTextIndex index = new FullTextIndex();
+        index.put(1, "old text");
+        Path file = dir.resolve("posts.seg");
+        index.writeSegment(file, 1);
+
+        FullTextIndex loaded = new FullTextIndex();
+        loaded.put(1, "new text");
+        Optional<FullTextIndex.Segment> segment = loaded.readSegment(file, 1);
+
+        assertThat(segment.get().ids().toArray()).isEmpty();
+        assertThat(loaded.search("old", 10)).isEmpty();
+        assertThat(loaded.search("new", 10)).containsExactly(1L);
+    }
+
+    @Test
+    void updatesAndDeletesRemoveStalePostings() {
+        FullTextIndex index = new FullTextIndex();
+        index.put(1, "first version");
+        index.put(1, "second version");
+        index.put(2, "second post");
+        index.remove(2);
+
+        assertThat(index.search("first", 10)).isEmpty();
+        assertThat(index.search("second", 10)).containsExactly(1L);
+    }
+
+    @Test
+    void unchangedIndexIsNotRewritten() throws IOException {
+        FullTextIndex index = new FullTextIndex();
+        index.put(1, "text");
+        Path file = dir.resolve("posts.seg");
+        index.writeSegment(file, 1);
+        long modified = file.toFile().lastModified();
+        assertThat(file.toFile().setLastModified(modified - 10_000)).isTrue();
+
+        index.writeSegment(file, 1);
+
+        assertThat(file.toFile().lastModified()).isEqualTo(modified - 10_000);
+    }
+}
@@ -0,0 +1,138 @@
+package com.socialplatformapi.service;
+
+import com.socialplatformapi.exception.overload.OverloadException;
+import com.socialplatformapi.security.AuthenticatedUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LikeWriteBufferTest {
+
+    private static final AuthenticatedUser ALICE = new AuthenticatedUser(1L, "alice");
+    private static final AuthenticatedUser BOB = new AuthenticatedUser(2L, "bob");
+
+    private JdbcTemplate jdbcTemplate;
+    private LikeWriteBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        buffer = new LikeWriteBuffer(jdbcTemplate, true, 2, 100, 10);
+    }
+
+    @Test
+    void likeThenUnlikeCancelsOutAndFreesTheSlot() {
+        assertThat(buffer.like(10L, ALICE)).isTrue();
+        assertThat(buffer.unlike(10L, ALICE)).isTrue();
+
+        assertThat(buffer.pendingFor(10L)).isEmpty();
+        buffer.flush();
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+
+        // ორივე slot თავისუფალია
+        buffer.like(10L, ALICE);
+        buffer.like(11L, ALICE);
+        assertThatThrownBy(() -> buffer.like(12L, ALICE)).isInstanceOf(OverloadException.class);
+    }
+
+    @Test
+    void repeatedIntentIsCoalesced() {
+        assertThat(buffer.like(10L, ALICE)).isTrue();
+        // მეორე მოწონება ახალი არ არის: მრიცხველი ერთხელ უნდა გაიზარდოს
+        assertThat(buffer.like(10L, ALICE)).isFalse();
+
+        assertThat(buffer.pendingFor(10L)).containsOnlyKeys(ALICE.getId());
+        assertThat(buffer.like(10L, BOB)).isTrue();
+        assertThat(buffer.pendingFor(10L)).containsOnlyKeys(ALICE.getId(), BOB.getId());
+    }
+
+    @Test
+    void flushWritesOneBatchAndFreesSlots() {
+        buffer.like(10L, ALICE);
+        buffer.like(10L, BOB);
+
+        buffer.flush();
+
+        verify(jdbcTemplate).batchUpdate(anyString(), eq2Rows());
+        assertThat(buffer.pendingFor(10L)).isEmpty();
+        buffer.like(11L, ALICE);
+        buffer.like(11L, BOB);
+    }
+
+    @Test
+    void transientFailureRequeuesEverything() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new CannotGetJdbcConnectionException("down"));
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenThrow(new CannotGetJdbcConnectionException("down"));
+        buffer.like(10L, ALICE);
+        buffer.like(10L, BOB);
+
+        buffer.flush();
+
+        assertThat(buffer.pendingFor(10L)).containsOnlyKeys(ALICE.getId(), BOB.getId());
+        assertThatThrownBy(() -> buffer.like(11L, ALICE)).isInstanceOf(OverloadException.class);
+
+        reset(jdbcTemplate);
+        buffer.flush();
+        verify(jdbcTemplate).batchUpdate(anyString(), eq2Rows());
+        assertThat(buffer.pendingFor(10L)).isEmpty();
+    }
+
+    @Test
+    void rowRejectedByConstraintIsDroppedAndOthersAreWritten() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataIntegrityViolationException("likes_user_id_fkey"));
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            if (invocation.getArgument(2).equals(BOB.getId())) {
+                throw new DataIntegrityViolationException("likes_user_id_fkey");
+            }
+            return 1;
+        });
+        buffer.like(10L, ALICE);
+        buffer.like(10L, BOB);
+
+        buffer.flush();
+
+        verify(jdbcTemplate, times(2)).update(anyString(), any(Object[].class));
+        assertThat(buffer.pendingFor(10L)).isEmpty();
+        // ბუფერი აღარ არის გაჭედილი
+        reset(jdbcTemplate);
+        buffer.like(11L, ALICE);
+        buffer.like(11L, BOB);
+        buffer.flush();
+        verify(jdbcTemplate).batchUpdate(anyString(), eq2Rows());
+    }
+
+    @Test
+    void discardUserRemovesOnlyThatUsersIntents() {
+        buffer.like(10L, ALICE);
+        buffer.unlike(11L, BOB);
+
+        List<LikeWriteBuffer.Intent> discarded = buffer.discardUser(BOB.getId());
+
+        assertThat(discarded).extracting(LikeWriteBuffer.Intent::postId).containsExactly(11L);
+        assertThat(buffer.pendingFor(11L)).isEmpty();
+        assertThat(buffer.pendingFor(10L)).containsOnlyKeys(ALICE.getId());
+        buffer.like(12L, BOB);
+    }
+
+    private static List<Object[]> eq2Rows() {
+        return argThat(rows -> rows != null && rows.size() == 2);
+    }
+}
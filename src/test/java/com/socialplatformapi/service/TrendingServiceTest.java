@@ -0,0 +1,155 @@
+package com.socialplatformapi.service;
+
+import com.socialplatformapi.exception.post.PostException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TrendingServiceTest {
+
+    private static final int TOP_K = 3;
+
+    private MutableClock clock;
+    private TrendingService trending;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-06-01T12:00:00Z"));
+        trending = new TrendingService(List.of(Duration.ofHours(1)), 60, 4, 2048, TOP_K, 1000, clock);
+    }
+
+    @Test
+    void ranksByEventCountAndKeepsOnlyTopK() {
+        record(1L, 5);
+        record(2L, 50);
+        record(3L, 20);
+        record(4L, 1);
+        record(5L, 30);
+
+        trending.refresh();
+
+        assertThat(trending.getTrendingPostIds("1h", 10)).containsExactly(2L, 5L, 3L);
+        assertThat(trending.getTrendingPostIds("1h", 2)).containsExactly(2L, 5L);
+    }
+
+    @Test
+    void eventsAreVisibleOnlyAfterRefresh() {
+        record(1L, 3);
+
+        assertThat(trending.getTrendingPostIds("1h", 10)).isEmpty();
+        trending.refresh();
+        assertThat(trending.getTrendingPostIds("1h", 10)).containsExactly(1L);
+    }
+
+    @Test
+    void candidatesSurviveRefreshWithoutNewEvents() {
+        record(1L, 10);
+        record(2L, 5);
+        trending.refresh();
+
+        record(3L, 7);
+        trending.refresh();
+
+        assertThat(trending.getTrendingPostIds("1h", 10)).containsExactly(1L, 3L, 2L);
+    }
+
+    @Test
+    void newHeavyHitterDisplacesWeakestCandidate() {
+        record(1L, 10);
+        record(2L, 9);
+        record(3L, 8);
+        trending.refresh();
+
+        record(4L, 20);
+        trending.refresh();
+
+        assertThat(trending.getTrendingPostIds("1h", 10)).containsExactly(4L, 1L, 2L);
+    }
+
+    @Test
+    void expiredBucketsLeaveTheWindow() {
+        record(1L, 10);
+        clock.advance(Duration.ofMinutes(30));
+        // scheduler-ი bucket-ებს წამში ერთხელ აბრუნებს
+        trending.refresh();
+        record(2L, 5);
+        trending.refresh();
+        assertThat(trending.getTrendingPostIds("1h", 10)).containsExactly(1L, 2L);
+
+        // პირველი მოვლენები ფანჯრიდან გავიდა
+        clock.advance(Duration.ofMinutes(31));
+        trending.refresh();
+        assertThat(trending.getTrendingPostIds("1h", 10)).containsExactly(2L);
+
+        clock.advance(Duration.ofHours(2));
+        trending.refresh();
+        assertThat(trending.getTrendingPostIds("1h", 10)).isEmpty();
+    }
+
+    @Test
+    void unknownWindowIsRejected() {
+        assertThatThrownBy(() -> trending.getTrendingPostIds("1d", 10)).isInstanceOf(PostException.class);
+        assertThatThrownBy(() -> trending.getTrendingPostIds("soon", 10)).isInstanceOf(PostException.class);
+    }
+
+    @Test
+    void concurrentRecordsAreAllCounted() throws InterruptedException {
+        Thread[] threads = IntStream.range(0, 8)
+                .mapToObj(t -> new Thread(() -> record(1L, 10_000)))
+                .toArray(Thread[]::new);
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        record(2L, 79_999);
+
+        trending.refresh();
+
+        assertThat(trending.getTrendingPostIds("1h", 10)).containsExactly(1L, 2L);
+    }
+
+    private void record(Long postId, int times) {
+        for (int i = 0; i < times; i++) {
+            trending.record(postId);
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
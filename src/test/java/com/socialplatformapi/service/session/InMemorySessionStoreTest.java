@@ -0,0 +1,75 @@
+package com.socialplatformapi.service.session;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemorySessionStoreTest {
+
+    @Test
+    void loginAtCapacityKeepsTheNewSession() {
+        InMemorySessionStore store = new InMemorySessionStore(Duration.ofMinutes(30), Duration.ofHours(12), 3);
+
+        for (int i = 0; i < 10; i++) {
+            String token = store.create(i, "user" + i);
+            assertThat(store.find(token)).isPresent();
+            assertThat(store.stats().getActive()).isLessThanOrEqualTo(3);
+        }
+
+        assertThat(store.stats().getEvicted()).isEqualTo(7);
+        assertThat(store.stats().getInvalidated()).isZero();
+    }
+
+    @Test
+    void concurrentLoginsDoNotOvershootCapacity() throws Exception {
+        InMemorySessionStore store = new InMemorySessionStore(Duration.ofMinutes(30), Duration.ofHours(12), 50);
+        int threads = 8;
+        int perThread = 500;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> logins = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                int offset = t * perThread;
+                logins.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        store.create(offset + i, "user" + (offset + i));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> login : logins) {
+                login.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // ყოველი ზედმეტი login ზუსტად ერთ სესიას აძევებს
+        assertThat(store.stats().getActive()).isEqualTo(50);
+        assertThat(store.stats().getEvicted()).isEqualTo(threads * perThread - 50);
+    }
+
+    @Test
+    void removeCountsAsInvalidatedOnce() {
+        InMemorySessionStore store = new InMemorySessionStore(Duration.ofMinutes(30), Duration.ofHours(12), 10);
+        String token = store.create(1, "user1");
+
+        store.remove(token);
+        store.remove(token);
+
+        assertThat(store.find(token)).isEmpty();
+        assertThat(store.stats().getInvalidated()).isEqualTo(1);
+        assertThat(store.stats().getEvicted()).isZero();
+    }
+}
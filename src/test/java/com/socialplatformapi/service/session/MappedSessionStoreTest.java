@@ -0,0 +1,95 @@
+package com.socialplatformapi.service.session;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedSessionStoreTest {
+
+    // 16 სლოტი და 11 ცოცხალი სესია: გრძელი probe ჯაჭვები, რომლებიც ცხრილის ბოლოზეც გადადის
+    private static final int CAPACITY = 16;
+    private static final int LIVE = 11;
+
+    @TempDir
+    Path dir;
+
+    private MappedSessionStore store;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Test
+    void deletesKeepEveryOtherSessionReachable() throws IOException {
+        store = open();
+        Random random = new Random(42);
+        List<String> live = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+
+        for (int round = 0; round < 2000; round++) {
+            while (live.size() < LIVE) {
+                live.add(store.create(live.size(), "user" + live.size()));
+            }
+            String token = live.remove(random.nextInt(live.size()));
+            store.remove(token);
+            removed.add(token);
+
+            for (String other : live) {
+                assertThat(store.find(other)).as("round %d", round).isPresent();
+            }
+            assertThat(store.find(token)).isEmpty();
+            assertThat(store.stats().getActive()).isEqualTo(live.size());
+        }
+        assertThat(removed).allSatisfy(token -> assertThat(store.find(token)).isEmpty());
+        assertThat(store.stats().getEvicted()).isZero();
+    }
+
+    @Test
+    void sessionsSurviveReopenForTheSameUserTable() throws IOException {
+        store = open();
+        store.bindUserTable(7);
+        String token = store.create(1, "user1");
+        store.close();
+
+        store = open();
+        store.bindUserTable(7);
+
+        assertThat(store.find(token)).hasValueSatisfying(session -> {
+            assertThat(session.userId()).isEqualTo(1);
+            assertThat(session.username()).isEqualTo("user1");
+        });
+    }
+
+    @Test
+    void sessionsAreDroppedForAnotherUserTable() throws IOException {
+        store = open();
+        store.bindUserTable(7);
+        String token = store.create(1, "user1");
+        store.close();
+
+        store = open();
+        store.bindUserTable(8);
+
+        assertThat(store.find(token)).isEmpty();
+        assertThat(store.stats().getActive()).isZero();
+        // ახალი სესიები ჩვეულებრივ იქმნება
+        assertThat(store.find(store.create(2, "user2"))).isPresent();
+    }
+
+    private MappedSessionStore open() throws IOException {
+        return new MappedSessionStore(dir.resolve("sessions.dat"), CAPACITY,
+                Duration.ofMinutes(30), Duration.ofHours(12), LIVE + 1);
+    }
+}